@@ -0,0 +1,53 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.business.PrefixIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Top-10 prefix lookups (GET /api/autocomplete) against 100k and 1M restaurant names, the size
+// autocomplete is expected to handle, for prefixes of 1 to 8 characters. Add -prof gc for allocation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutocompleteBenchmark {
+
+	private static final int LIMIT = 10;
+	private static final String[] WORDS = {"golden", "dragon", "lou", "malnati's", "caf\u00e9", "blue", "ember", "taqueria",
+			"noodle", "house", "pizza", "kitchen", "bistro", "smoke", "garden", "harbor", "ramen", "corner", "little", "jade"};
+
+	@Param({"100000", "1000000"})
+	public int names;
+
+	private PrefixIndex index;
+	private String[] prefixes;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		index = new PrefixIndex();
+		for (int id = 1; id <= names; id++) {
+			index.put(id, name(random, id));
+		}
+		prefixes = new String[1024];
+		for (int i = 0; i < prefixes.length; i++) {
+			String name = name(random, random.nextInt(names));
+			prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(8, name.length())));
+		}
+	}
+
+	@Benchmark
+	public List<PrefixIndex.Match> startingWith() {
+		return index.startingWith(prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)], LIMIT);
+	}
+
+	private static String name(Random random, int id) {
+		return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.RestaurantApplication;
+import com.example.restaurant.generator.DataGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// The application without its web server, on the in-memory H2 profile (schema.sql + data.sql),
+// topped up by DataGenerator with a fixed seed. Each JMH fork is a fresh JVM, so every trial
+// starts from a new database.
+final class BenchmarkApp {
+
+	private static final long SEED = 20260101L;
+
+	private BenchmarkApp() {
+	}
+
+	static ConfigurableApplicationContext start(int restaurants, double visitsPerRestaurant) {
+		return generate(new SpringApplicationBuilder(RestaurantApplication.class)
+				.profiles("h2")
+				.web(WebApplicationType.NONE)
+				.properties("logging.level.root=WARN", "spring.main.banner-mode=off")
+				.run(), restaurants, visitsPerRestaurant);
+	}
+
+	// The same with Tomcat on a random port (local.server.port), extra profiles, and arguments such as
+	// --restaurant.limit.enabled=false (unlike builder properties, these override application.properties)
+	static ConfigurableApplicationContext startServer(int restaurants, double visitsPerRestaurant,
+			String[] profiles, String... args) {
+		return generate(new SpringApplicationBuilder(RestaurantApplication.class)
+				.profiles("h2")
+				.profiles(profiles)
+				.properties("logging.level.root=WARN", "spring.main.banner-mode=off", "server.port=0")
+				.run(args), restaurants, visitsPerRestaurant);
+	}
+
+	private static ConfigurableApplicationContext generate(ConfigurableApplicationContext context, int restaurants,
+			double visitsPerRestaurant) {
+		try {
+			context.getBean(DataGenerator.class).generate(SEED, restaurants, visitsPerRestaurant, null);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return context;
+	}
+}
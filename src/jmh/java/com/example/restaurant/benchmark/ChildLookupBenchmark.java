@@ -0,0 +1,71 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.Experience;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Rating;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The find-by-parent lookups behind the visit screens: ratings/experiences/dishes by visit
+// (findByHaveTriedId) and visits by restaurant, for random parents over 10k restaurants with about 3 visits each
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChildLookupBenchmark {
+
+	private static final int RESTAURANTS = 10_000;
+	private static final double VISITS_PER_RESTAURANT = 3;
+
+	private ConfigurableApplicationContext context;
+	private BusinessManager bm;
+	private int maxVisitId;
+	private int maxRestaurantId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start(RESTAURANTS, VISITS_PER_RESTAURANT);
+		bm = context.getBean(BusinessManager.class);
+		JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+		maxVisitId = jdbc.queryForObject("SELECT MAX(id) FROM have_tried", Integer.class);
+		maxRestaurantId = jdbc.queryForObject("SELECT MAX(id) FROM restaurant", Integer.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Rating> ratingsByHaveTriedId() {
+		return bm.findRatingsByHaveTriedId(randomId(maxVisitId));
+	}
+
+	@Benchmark
+	public List<Experience> experiencesByHaveTriedId() {
+		return bm.findExperiencesByHaveTriedId(randomId(maxVisitId));
+	}
+
+	@Benchmark
+	public List<Dish> dishesByHaveTriedId() {
+		return bm.findDishesByHaveTriedId(randomId(maxVisitId));
+	}
+
+	@Benchmark
+	public List<HaveTried> haveTriedByRestaurantId() {
+		return bm.findHaveTriedByRestaurantId(randomId(maxRestaurantId));
+	}
+
+	private static int randomId(int max) {
+		return 1 + ThreadLocalRandom.current().nextInt(max);
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Restaurant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Single-entity round trips through BusinessManager: a create -> find -> update -> delete lifecycle
+// (four transactions, as four API calls would be), and a find by id on its own
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CrudRoundTripBenchmark {
+
+	private static final int RESTAURANTS = 10_000;
+
+	private ConfigurableApplicationContext context;
+	private BusinessManager bm;
+	private Location location;
+	private int maxId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start(RESTAURANTS, 1.0);
+		bm = context.getBean(BusinessManager.class);
+		location = bm.findLocationById(1);
+		maxId = bm.findAllRestaurants().stream().mapToInt(Restaurant::getId).max().orElseThrow();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public void restaurantLifecycle(Blackhole bh) {
+		Restaurant created = bm.createRestaurant(new Restaurant(null, "Round Trip", location, "Casual", "American"));
+		Restaurant found = bm.findRestaurantById(created.getId());
+		found.setCuisine("Fusion");
+		bh.consume(bm.updateRestaurant(found));
+		bh.consume(bm.deleteRestaurantById(created.getId()));
+	}
+
+	@Benchmark
+	public Restaurant findRestaurantById() {
+		return bm.findRestaurantById(1 + ThreadLocalRandom.current().nextInt(maxId));
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.model.Restaurant;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BusinessManager.findAllRestaurants (GET /api/restaurants) at 1k and 100k rows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindAllRestaurantsBenchmark {
+
+	@Param({"1000", "100000"})
+	public int rows;
+
+	private ConfigurableApplicationContext context;
+	private BusinessManager bm;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// data.sql already has 50 restaurants
+		context = BenchmarkApp.start(rows - 50, 0);
+		bm = context.getBean(BusinessManager.class);
+		if (bm.findAllRestaurants().size() != rows) throw new IllegalStateException("expected " + rows + " restaurants");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Restaurant> findAllRestaurants() {
+		return bm.findAllRestaurants();
+	}
+}
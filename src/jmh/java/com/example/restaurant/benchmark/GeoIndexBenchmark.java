@@ -0,0 +1,57 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.business.GeoIndex;
+import com.example.restaurant.dto.GeoPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Nearest-20 lookups within 500 km (GET /api/restaurants/nearby) over restaurants spread across the
+// continental US: the grid index versus a full scan of every point, which is what a query without a
+// spatial index costs. GeoIndexTests checks that both return the same restaurants.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoIndexBenchmark {
+
+	private static final int K = 20;
+	private static final double MAX_KM = 500;
+
+	@Param({"10000", "500000"})
+	public int points;
+
+	private GeoIndex index;
+	private List<GeoPoint> all;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(7);
+		index = new GeoIndex(null);
+		all = new ArrayList<>(points);
+		for (int id = 1; id <= points; id++) {
+			GeoPoint p = new GeoPoint(id, 25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57);
+			all.add(p);
+			index.restaurantSaved(id, p.latitude(), p.longitude());
+		}
+	}
+
+	@Benchmark
+	public List<GeoIndex.Hit> grid() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return index.nearest(25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57, MAX_KM, K);
+	}
+
+	@Benchmark
+	public List<GeoIndex.Hit> fullScan() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		// One box: within 500 km of the continental US the circle never crosses 180 degrees
+		return GeoIndex.nearest(25 + random.nextDouble() * 24, -124 + random.nextDouble() * 57, MAX_KM, K, box -> all);
+	}
+}
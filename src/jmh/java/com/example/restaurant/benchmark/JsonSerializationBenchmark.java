@@ -0,0 +1,75 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.repository.HaveTriedRepository;
+import com.example.restaurant.repository.RestaurantRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson serialization (the application's ObjectMapper) of 1000 Restaurant entities with their
+// Location, and of 1000 HaveTried entities with their Restaurant and Location, as the list endpoints
+// would write them. Graphs are loaded and initialized once, so only serialization is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+	private static final int ROWS = 1_000;
+
+	private ConfigurableApplicationContext context;
+	private ObjectMapper mapper;
+	private List<Restaurant> restaurants;
+	private List<HaveTried> visits;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start(ROWS, 3);
+		mapper = context.getBean(ObjectMapper.class);
+		RestaurantRepository restaurantRepo = context.getBean(RestaurantRepository.class);
+		HaveTriedRepository haveTriedRepo = context.getBean(HaveTriedRepository.class);
+		TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		PageRequest page = PageRequest.of(0, ROWS, Sort.by("id"));
+		restaurants = tx.execute(status -> {
+			List<Restaurant> rows = restaurantRepo.findAll(page).getContent();
+			rows.forEach(r -> Hibernate.initialize(r.getLocation()));
+			return rows;
+		});
+		visits = tx.execute(status -> {
+			List<HaveTried> rows = haveTriedRepo.findAll(page).getContent();
+			rows.forEach(h -> {
+				Hibernate.initialize(h.getRestaurant());
+				Hibernate.initialize(h.getRestaurant().getLocation());
+			});
+			return rows;
+		});
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public byte[] restaurants() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(restaurants);
+	}
+
+	@Benchmark
+	public byte[] haveTried() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(visits);
+	}
+}
@@ -0,0 +1,65 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.dto.LeaderboardEntry;
+import com.example.restaurant.dto.RatingMetric;
+import com.example.restaurant.repository.RestaurantRatingStatsRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Top-20 leaderboards (RestaurantRatingStatsRepositoryImpl.findLeaderboard, GET /api/restaurants/leaderboard)
+// at 1k and 100k restaurants with about 3 rated visits each: unfiltered, by cuisine, and by cuisine in one city.
+// With the filters the cost should follow the matching restaurants rather than the table size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+	private static final int LIMIT = 20;
+	private static final String[] CUISINES = {"American", "Mexican", "Italian", "Chinese", "Japanese", "Thai", "Indian"};
+
+	@Param({"1000", "100000"})
+	public int restaurants;
+
+	private ConfigurableApplicationContext context;
+	private RestaurantRatingStatsRepository ratingStatsRepo;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApp.start(restaurants, 3);
+		ratingStatsRepo = context.getBean(RestaurantRatingStatsRepository.class);
+		if (ratingStatsRepo.findLeaderboard(null, null, null, null, RatingMetric.FOOD, 1, LIMIT).size() != LIMIT) {
+			throw new IllegalStateException("no rating stats to rank");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<LeaderboardEntry> overall() {
+		return ratingStatsRepo.findLeaderboard(null, null, null, null, RatingMetric.OVERALL, 1, LIMIT);
+	}
+
+	@Benchmark
+	public List<LeaderboardEntry> byCuisine() {
+		return ratingStatsRepo.findLeaderboard(cuisine(), null, null, null, RatingMetric.FOOD, 1, LIMIT);
+	}
+
+	@Benchmark
+	public List<LeaderboardEntry> byCuisineInCity() {
+		return ratingStatsRepo.findLeaderboard(cuisine(), null, "Chicago", "IL", RatingMetric.FOOD, 1, LIMIT);
+	}
+
+	private static String cuisine() {
+		return CUISINES[ThreadLocalRandom.current().nextInt(CUISINES.length)];
+	}
+}
@@ -0,0 +1,73 @@
+package com.example.restaurant.benchmark;
+
+import com.example.restaurant.dto.RestaurantSummary;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.repository.RestaurantRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Query + serialize a 10k-row restaurant list, each in its own read-only transaction as a request with
+// open-session-in-view would: Restaurant entities (lazy Location proxies, @JsonIdentityInfo) versus
+// RestaurantSummary projections. RestaurantSummaryTests checks that both carry the same values.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SummarySerializationBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	private ConfigurableApplicationContext context;
+	private RestaurantRepository restaurantRepo;
+	private ObjectMapper mapper;
+	private TransactionTemplate tx;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// data.sql already has 50 restaurants
+		context = BenchmarkApp.start(ROWS - 50, 0);
+		restaurantRepo = context.getBean(RestaurantRepository.class);
+		mapper = context.getBean(ObjectMapper.class);
+		tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		tx.setReadOnly(true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public byte[] entities() {
+		return tx.execute(status -> {
+			List<Restaurant> rows = restaurantRepo.findByIdGreaterThanOrderByIdAsc(0, Limit.of(ROWS));
+			return serialize(rows);
+		});
+	}
+
+	@Benchmark
+	public byte[] summaries() {
+		return tx.execute(status -> {
+			List<RestaurantSummary> rows = restaurantRepo.findSummaries(0, Limit.of(ROWS));
+			return serialize(rows);
+		});
+	}
+
+	private byte[] serialize(List<?> rows) {
+		try {
+			return mapper.writeValueAsBytes(rows);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.restaurant.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/restaurants/{id}/full (a fixed number of queries) for random restaurants over HTTP, with Tomcat on
+// platform threads versus virtual threads (profile virtual-threads). Closed loop with more clients
+// than Tomcat threads, as in a burst; the sample-time mode reports the latency percentiles, and
+// ops/s across the 400 clients is the throughput. H2 answers without blocking on a socket, so this
+// shows the overhead of each mode, not the gain against MySQL (see README, "Request threads").
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+	private static final int RESTAURANTS = 2_000;
+	private static final int TOMCAT_THREADS = 50;
+
+	@Param({"platform", "virtual"})
+	public String mode;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private String base;
+	private int maxId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		String[] profiles = mode.equals("virtual") ? new String[] {"virtual-threads"} : new String[0];
+		// Measure the thread modes, not the per-group limits in front of them
+		context = BenchmarkApp.startServer(RESTAURANTS, 3, profiles,
+				"--restaurant.limit.enabled=false", "--server.tomcat.threads.max=" + TOMCAT_THREADS);
+		base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/restaurants/";
+		maxId = context.getBean(JdbcTemplate.class).queryForObject("SELECT MAX(id) FROM restaurant", Integer.class);
+		client = HttpClient.newHttpClient();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public String restaurantDetail() throws IOException, InterruptedException {
+		int id = 1 + ThreadLocalRandom.current().nextInt(maxId);
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + id + "/full")).build(),
+				HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) throw new IllegalStateException("HTTP " + response.statusCode() + " for " + id);
+		return response.body();
+	}
+}
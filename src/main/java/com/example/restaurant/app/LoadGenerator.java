@@ -0,0 +1,544 @@
+package com.example.restaurant.app;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for the REST API, started through ServiceConsoleClient:
+ *
+ *   ServiceConsoleClient load --rate=500 --workers=64 --duration=60 --warmup=10 --writes=10
+ *
+ * Every request is one scenario drawn from a weighted mix: reads over the lookup, listing,
+ * scorecard, leaderboard, nearby, search and autocomplete endpoints under /api, and (--writes
+ * percent of requests) creates, updates and deletes. Reads use ids sampled from the server
+ * before the run starts; writes only touch restaurants, visits, ratings, experiences and dishes
+ * the run created itself, and those are deleted again at the end. The NDJSON exports and CSV
+ * import are left out: each call walks a whole table.
+ *
+ * With --rate > 0 arrivals are open-loop: request i is due at start + i / rate whether or not
+ * earlier ones have finished, at most --workers are in flight, and latency is measured from the
+ * due time, so time spent queued behind a slow server counts against it (no coordinated
+ * omission). --rate=0 runs closed-loop instead: each worker sends its next request as soon as the
+ * previous one returns. Each request runs on its own virtual thread.
+ *
+ * Latencies are recorded in one HdrHistogram per scenario. Requests due during the warm-up are
+ * not recorded; the report gives p50/p99/p999/max per scenario and overall, the throughput and
+ * the error rate (an exception or a status >= 400 is an error). --hgrm=<file> also writes the
+ * overall percentile distribution in HdrHistogram's text format.
+ */
+public class LoadGenerator {
+
+    private static final Set<String> OPTIONS = Set.of("base", "workers", "rate", "duration", "warmup", "writes", "hgrm");
+    private static final int SAMPLE_PAGE = 500;
+    private static final int SAMPLE_SIZE = 5_000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Overall figures of a run, as printed in the report's total line. */
+    public record Summary(long requests, long errors, double throughput, double p50Millis, double p99Millis, double p999Millis) {}
+
+    /** Command line settings; see the class comment. */
+    public record Options(String baseUrl, int workers, double rate, Duration duration, Duration warmup,
+                   int writePercent, Path histogramFile) {
+
+        public static Options parse(String[] args) {
+            Map<String, String> v = new HashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) throw new IllegalArgumentException("expected --name=value, got '" + arg + "'");
+                String name = arg.substring(2, eq);
+                if (!OPTIONS.contains(name)) throw new IllegalArgumentException("unknown option --" + name + ", expected one of " + OPTIONS);
+                v.put(name, arg.substring(eq + 1));
+            }
+            Options o = new Options(
+                    v.getOrDefault("base", "http://localhost:8080/api"),
+                    Integer.parseInt(v.getOrDefault("workers", "64")),
+                    Double.parseDouble(v.getOrDefault("rate", "200")),
+                    Duration.ofSeconds(Long.parseLong(v.getOrDefault("duration", "60"))),
+                    Duration.ofSeconds(Long.parseLong(v.getOrDefault("warmup", "10"))),
+                    Integer.parseInt(v.getOrDefault("writes", "10")),
+                    v.containsKey("hgrm") ? Path.of(v.get("hgrm")) : null);
+            if (o.workers < 1) throw new IllegalArgumentException("--workers must be at least 1");
+            if (o.rate < 0) throw new IllegalArgumentException("--rate must be 0 (closed loop) or more");
+            if (o.duration.isZero() || o.duration.isNegative() || o.warmup.isNegative()) {
+                throw new IllegalArgumentException("--duration must be positive and --warmup not negative");
+            }
+            if (o.writePercent < 0 || o.writePercent > 100) throw new IllegalArgumentException("--writes must be 0-100");
+            return o;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> send() throws IOException, InterruptedException;
+    }
+
+    private static final class Scenario {
+        final String name;
+        final int weight;
+        final Call call;
+        final Histogram latency = new ConcurrentHistogram(3);
+        final LongAdder errors = new LongAdder();
+        final AtomicReference<String> firstError = new AtomicReference<>();
+
+        Scenario(String name, int weight, Call call) {
+            this.name = name;
+            this.weight = weight;
+            this.call = call;
+        }
+    }
+
+    /** Ids of rows this run created. Small and short-lived, so a synchronized list is enough. */
+    private static final class OwnRows {
+        private final List<Integer> ids = new ArrayList<>();
+
+        synchronized void add(int id) {
+            ids.add(id);
+        }
+
+        synchronized Integer any() {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+
+        // Swap-remove of a random id
+        synchronized Integer take() {
+            if (ids.isEmpty()) return null;
+            int i = ThreadLocalRandom.current().nextInt(ids.size());
+            Integer id = ids.get(i);
+            ids.set(i, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+        synchronized List<Integer> drain() {
+            List<Integer> all = new ArrayList<>(ids);
+            ids.clear();
+            return all;
+        }
+    }
+
+    private final Options options;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // Read sample, filled before the run
+    private int[] locations;
+    private int[] restaurants;
+    private int[] visits;
+    private int[] ratings;
+    private int[] experiences;
+    private int[] dishes;
+    private String[] names;
+    private String[] words;
+    private double[][] coordinates;
+
+    // Restaurants created by the run. Every other one goes to deletable, the rest get updates
+    // and visits: deleting a restaurant cascades to its visits, which would turn later rating,
+    // experience and dish creates on them into errors.
+    private final OwnRows ownRestaurants = new OwnRows();
+    private final OwnRows deletable = new OwnRows();
+    private final OwnRows ownVisits = new OwnRows();
+    private final AtomicInteger created = new AtomicInteger();
+
+    private List<Scenario> reads;
+    private List<Scenario> writes;
+    private long measureFrom;
+
+    public LoadGenerator(Options options) {
+        this.options = options;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) {
+        try {
+            new LoadGenerator(Options.parse(args)).run(System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            System.err.println("usage: ServiceConsoleClient load [--base=url] [--workers=n] [--rate=req/s] "
+                    + "[--duration=s] [--warmup=s] [--writes=percent] [--hgrm=file]");
+        } catch (Exception e) {
+            System.err.println("ERROR during load test: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public Summary run(PrintStream out) throws IOException, InterruptedException {
+        out.println("Sampling ids from " + options.baseUrl() + " ...");
+        loadSample(out);
+        buildScenarios();
+        out.printf("Sampled %d restaurants, %d locations, %d visits, %d ratings, %d experiences, %d dishes%n",
+                restaurants.length, locations.length, visits.length, ratings.length, experiences.length, dishes.length);
+
+        ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+        out.printf("%s, %d workers, %d%% writes, %ds warm-up + %ds measured%n",
+                options.rate() > 0 ? "Open loop at " + options.rate() + " req/s" : "Closed loop",
+                options.workers(), options.writePercent(), options.warmup().toSeconds(), options.duration().toSeconds());
+
+        long start = System.nanoTime();
+        measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        try {
+            if (options.rate() > 0) {
+                openLoop(pool, start, end);
+            } else {
+                closedLoop(pool, end);
+            }
+        } finally {
+            pool.shutdown();
+            if (!pool.awaitTermination(REQUEST_TIMEOUT.toSeconds() * 2, TimeUnit.SECONDS)) pool.shutdownNow();
+        }
+
+        Summary summary = report(out);
+        cleanUp(out);
+        return summary;
+    }
+
+    // ---------------- Arrivals ----------------
+
+    private void openLoop(ExecutorService pool, long start, long end) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.workers());
+        double interval = 1e9 / options.rate();
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * interval);
+            if (due >= end) break;
+            long wait = due - System.nanoTime();
+            if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+            pool.execute(() -> {
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    issue(due);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void closedLoop(ExecutorService pool, long end) {
+        for (int w = 0; w < options.workers(); w++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    issue(System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private void issue(long due) {
+        Scenario s = pick();
+        String error = null;
+        try {
+            HttpResponse<String> r = s.call.send();
+            if (r.statusCode() >= 400) error = "HTTP " + r.statusCode();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        long done = System.nanoTime();
+        if (due < measureFrom) return;
+        s.latency.recordValue(TimeUnit.NANOSECONDS.toMicros(done - due));
+        if (error != null) {
+            s.errors.increment();
+            s.firstError.compareAndSet(null, error);
+        }
+    }
+
+    private Scenario pick() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        List<Scenario> group = writes.isEmpty() || rnd.nextInt(100) >= options.writePercent() ? reads : writes;
+        int total = group.stream().mapToInt(s -> s.weight).sum();
+        int n = rnd.nextInt(total);
+        for (Scenario s : group) {
+            n -= s.weight;
+            if (n < 0) return s;
+        }
+        return group.get(group.size() - 1);
+    }
+
+    // ---------------- Scenarios ----------------
+
+    private void buildScenarios() {
+        List<Scenario> r = new ArrayList<>();
+        r.add(new Scenario("GET restaurants/{id}", 15, () -> get("/restaurants/" + any(restaurants))));
+        r.add(new Scenario("GET restaurants/{id}/full", 8, () -> get("/restaurants/" + any(restaurants) + "/full")));
+        r.add(new Scenario("GET restaurants/{id}/scorecard", 4, () -> get("/restaurants/" + any(restaurants) + "/scorecard")));
+        r.add(new Scenario("GET restaurants/scorecards", 2, () -> get("/restaurants/scorecards?ids="
+                + any(restaurants) + "," + any(restaurants) + "," + any(restaurants) + "," + any(restaurants))));
+        r.add(new Scenario("GET restaurants/{id}/rating-stats", 4, () -> get("/restaurants/" + any(restaurants) + "/rating-stats")));
+        r.add(new Scenario("GET restaurants?after&limit", 4, () -> get("/restaurants?limit=50&after=" + any(restaurants))));
+        r.add(new Scenario("GET restaurants/summaries", 6, () -> get("/restaurants/summaries?limit=50&after=" + any(restaurants))));
+        r.add(new Scenario("GET restaurants/by-location/{id}", 3, () -> get("/restaurants/by-location/" + any(locations))));
+        r.add(new Scenario("GET restaurants/leaderboard", 4, () -> get("/restaurants/leaderboard?limit=20&metric="
+                + (ThreadLocalRandom.current().nextBoolean() ? "food" : "vibe"))));
+        r.add(new Scenario("GET locations/{id}", 3, () -> get("/locations/" + any(locations))));
+        if (coordinates.length > 0) {
+            r.add(new Scenario("GET restaurants/nearby", 4, () -> {
+                double[] at = coordinates[ThreadLocalRandom.current().nextInt(coordinates.length)];
+                return get("/restaurants/nearby?radiusKm=5&limit=20&lat=" + at[0] + "&lon=" + at[1]);
+            }));
+        }
+        if (names.length > 0) {
+            r.add(new Scenario("GET autocomplete", 8, () -> {
+                String name = any(names);
+                return get("/autocomplete?q=" + encode(name.substring(0, Math.min(name.length(), 2 + ThreadLocalRandom.current().nextInt(3)))));
+            }));
+        }
+        if (words.length > 0) {
+            r.add(new Scenario("GET search", 4, () -> get("/search?limit=20&q=" + encode(any(words)))));
+        }
+        if (visits.length > 0) {
+            r.add(new Scenario("GET havetried/{id}", 3, () -> get("/havetried/" + any(visits))));
+            r.add(new Scenario("GET havetried/by-restaurant/{id}", 4, () -> get("/havetried/by-restaurant/" + any(restaurants))));
+            r.add(new Scenario("GET havetried/summaries", 2, () -> get("/havetried/summaries?limit=50&after=" + any(visits))));
+            r.add(new Scenario("GET ratings/by-havetried/{id}", 3, () -> get("/ratings/by-havetried/" + any(visits))));
+            r.add(new Scenario("GET experiences/by-havetried/{id}", 2, () -> get("/experiences/by-havetried/" + any(visits))));
+            r.add(new Scenario("GET dishes/by-have-tried/{id}", 2, () -> get("/dishes/by-have-tried/" + any(visits))));
+        }
+        if (ratings.length > 0) r.add(new Scenario("GET ratings/{id}", 2, () -> get("/ratings/" + any(ratings))));
+        if (experiences.length > 0) r.add(new Scenario("GET experiences/{id}", 2, () -> get("/experiences/" + any(experiences))));
+        if (dishes.length > 0) r.add(new Scenario("GET dishes/{id}", 2, () -> get("/dishes/" + any(dishes))));
+        reads = r;
+
+        List<Scenario> w = new ArrayList<>();
+        if (options.writePercent() > 0) {
+            w.add(new Scenario("POST restaurants", 4, this::createRestaurant));
+            w.add(new Scenario("PUT restaurants/{id}", 3, () -> {
+                Integer id = ownRestaurants.any();
+                if (id == null) return createRestaurant();
+                return send("PUT", "/restaurants/" + id, Map.of("restaurantName", "Load test " + id + " (updated)",
+                        "cuisine", "Load test"));
+            }));
+            w.add(new Scenario("DELETE restaurants/{id}", 2, () -> {
+                Integer id = deletable.take();
+                if (id == null) return createRestaurant();
+                return send("DELETE", "/restaurants/" + id, null);
+            }));
+            w.add(new Scenario("POST havetried", 3, this::createVisit));
+            w.add(new Scenario("POST ratings", 3, () -> createOnVisit("/ratings", Map.of(
+                    "foodRating", 1 + ThreadLocalRandom.current().nextInt(5),
+                    "vibeRating", 1 + ThreadLocalRandom.current().nextInt(5),
+                    "ratingDescription", "Load test rating"))));
+            w.add(new Scenario("POST experiences", 2, () -> createOnVisit("/experiences", Map.of(
+                    "date", LocalDate.now().toString(), "description", "Load test visit"))));
+            w.add(new Scenario("POST dishes", 2, () -> createOnVisit("/dishes", Map.of(
+                    "dishName", "Load test dish", "foodDescription", "Load test"))));
+        }
+        writes = w;
+    }
+
+    private HttpResponse<String> createRestaurant() throws IOException, InterruptedException {
+        int n = created.incrementAndGet();
+        HttpResponse<String> r = send("POST", "/restaurants", Map.of(
+                "restaurantName", "Load test " + n,
+                "location", Map.of("id", any(locations)),
+                "type", "Casual",
+                "cuisine", "Load test"));
+        if (r.statusCode() == 200) {
+            int id = mapper.readTree(r.body()).get("id").asInt();
+            (n % 2 == 0 ? deletable : ownRestaurants).add(id);
+        }
+        return r;
+    }
+
+    private HttpResponse<String> createVisit() throws IOException, InterruptedException {
+        Integer restaurantId = ownRestaurants.any();
+        if (restaurantId == null) return createRestaurant();
+        HttpResponse<String> r = send("POST", "/havetried", Map.of("restaurant", Map.of("id", restaurantId)));
+        if (r.statusCode() == 200) ownVisits.add(mapper.readTree(r.body()).get("id").asInt());
+        return r;
+    }
+
+    private HttpResponse<String> createOnVisit(String path, Map<String, Object> fields) throws IOException, InterruptedException {
+        Integer visitId = ownVisits.any();
+        if (visitId == null) return createVisit();
+        Map<String, Object> body = new HashMap<>(fields);
+        body.put("haveTried", Map.of("id", visitId));
+        return send("POST", path, body);
+    }
+
+    // ---------------- Sample ----------------
+
+    private void loadSample(PrintStream out) throws IOException, InterruptedException {
+        List<JsonNode> rows = sample("/restaurants");
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("no restaurants to read; start the app once with --restaurant.generate.restaurants=<n> to generate some");
+        }
+        restaurants = rows.stream().mapToInt(n -> n.get("id").asInt()).toArray();
+        names = rows.stream().map(n -> n.path("restaurantName").asText("")).filter(s -> !s.isBlank()).toArray(String[]::new);
+        coordinates = rows.stream()
+                .filter(n -> n.hasNonNull("latitude") && n.hasNonNull("longitude"))
+                .map(n -> new double[] { n.get("latitude").asDouble(), n.get("longitude").asDouble() })
+                .toArray(double[][]::new);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (JsonNode n : rows) {
+            for (String field : List.of("restaurantName", "cuisine")) {
+                for (String t : n.path(field).asText("").toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                    if (t.length() >= 4) tokens.add(t);
+                }
+            }
+        }
+        words = tokens.toArray(String[]::new);
+        if (words.length > 0) {
+            // FULLTEXT search is MySQL-only; leave it out of the mix when the server can't answer it
+            int status = get("/search?limit=1&q=" + encode(words[0])).statusCode();
+            if (status != 200) {
+                out.println("GET /search returned " + status + "; leaving search out of the mix");
+                words = new String[0];
+            }
+        }
+        locations = ids(sample("/locations"));
+        visits = ids(sample("/havetried/summaries"));
+        ratings = ids(sample("/ratings/summaries"));
+        experiences = ids(sample("/experiences/summaries"));
+        dishes = ids(sample("/dishes/summaries"));
+        if (locations.length == 0) throw new IllegalStateException("no locations to create restaurants in");
+    }
+
+    // The first SAMPLE_SIZE rows in id order, read as keyset pages
+    private List<JsonNode> sample(String path) throws IOException, InterruptedException {
+        List<JsonNode> rows = new ArrayList<>();
+        String after = "";
+        while (rows.size() < SAMPLE_SIZE) {
+            HttpResponse<String> r = get(path + "?limit=" + SAMPLE_PAGE + after);
+            if (r.statusCode() != 200) throw new IOException("GET " + path + " failed: " + r.statusCode() + " -> " + r.body());
+            JsonNode page = mapper.readTree(r.body());
+            page.path("items").forEach(rows::add);
+            if (!page.hasNonNull("nextCursor")) break;
+            after = "&after=" + page.get("nextCursor").asInt();
+        }
+        return rows;
+    }
+
+    private static int[] ids(List<JsonNode> rows) {
+        return rows.stream().mapToInt(n -> n.get("id").asInt()).toArray();
+    }
+
+    private static int any(int[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static String any(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    }
+
+    // ---------------- HTTP ----------------
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send("GET", path, null);
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body) throws IOException, InterruptedException {
+        HttpRequest.Builder req = HttpRequest.newBuilder()
+                .uri(URI.create(options.baseUrl() + path))
+                .timeout(REQUEST_TIMEOUT);
+        if (body == null) {
+            req.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            req.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(body)));
+        }
+        return http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // ---------------- Report ----------------
+
+    private Summary report(PrintStream out) throws IOException {
+        Histogram total = new Histogram(3);
+        long errors = 0;
+        out.printf("%n%-36s %9s %7s %9s %9s %9s %9s%n", "scenario", "count", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        List<Scenario> all = new ArrayList<>(reads);
+        all.addAll(writes);
+        for (Scenario s : all) {
+            if (s.latency.getTotalCount() == 0) continue;
+            total.add(s.latency);
+            errors += s.errors.sum();
+            row(out, s.name, s.latency, s.errors.sum());
+        }
+        row(out, "total", total, errors);
+
+        double seconds = options.duration().toNanos() / 1e9;
+        long count = total.getTotalCount();
+        out.printf("%nThroughput: %.1f req/s over %.0fs", count / seconds, seconds);
+        if (options.rate() > 0) out.printf(" (target %.1f req/s)", options.rate());
+        out.printf("%nError rate: %.3f%% (%d of %d)%n", count == 0 ? 0.0 : 100.0 * errors / count, errors, count);
+        for (Scenario s : all) {
+            String first = s.firstError.get();
+            if (first != null) out.println("  first error in " + s.name + ": " + first);
+        }
+
+        if (options.histogramFile() != null) {
+            try (PrintStream file = new PrintStream(Files.newOutputStream(options.histogramFile()), true, StandardCharsets.UTF_8)) {
+                total.outputPercentileDistribution(file, 1000.0);
+            }
+            out.println("Latency distribution (ms) written to " + options.histogramFile());
+        }
+        return new Summary(count, errors, count / seconds, total.getValueAtPercentile(50) / 1000.0,
+                total.getValueAtPercentile(99) / 1000.0, total.getValueAtPercentile(99.9) / 1000.0);
+    }
+
+    private static void row(PrintStream out, String name, Histogram h, long errors) {
+        out.printf("%-36s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(), errors,
+                h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0);
+    }
+
+    // Deleting the run's restaurants cascades to its visits, ratings, experiences and dishes
+    private void cleanUp(PrintStream out) throws InterruptedException {
+        List<Integer> ids = ownRestaurants.drain();
+        ids.addAll(deletable.drain());
+        int failed = 0;
+        for (Integer id : ids) {
+            try {
+                if (send("DELETE", "/restaurants/" + id, null).statusCode() >= 400) failed++;
+            } catch (IOException e) {
+                failed++;
+            }
+        }
+        if (!ids.isEmpty()) {
+            out.println("Deleted " + (ids.size() - failed) + " of " + ids.size() + " restaurants created by the run");
+        }
+    }
+}
@@ -1,7 +1,17 @@
 package com.example.restaurant;
 
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
 
 // Restaurant Manager Application
 
@@ -20,4 +30,27 @@ public class RestaurantApplication {
 		SpringApplication.run(RestaurantApplication.class, args);
 	}
 
+	// Open-in-view is off, so JSON is written after the transaction. Reads fetch what they return;
+	// should an uninitialized lazy reference still reach Jackson, it is written as its id instead
+	// of failing with LazyInitializationException.
+	@Bean
+	public Hibernate6Module hibernate6Module() {
+		return new Hibernate6Module()
+				.configure(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS, true);
+	}
+
+	// Second-level cache regions (configured in application.conf) live in a CacheManager of this
+	// context's own. Hibernate would otherwise take the JVM-wide default one, which a second context
+	// in the same JVM (as in a test run) cannot share; this one is closed with the context.
+	@Bean(destroyMethod = "close")
+	public CacheManager secondLevelCacheManager() {
+		return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+				.getCacheManager(URI.create("restaurant:second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+	}
+
 }
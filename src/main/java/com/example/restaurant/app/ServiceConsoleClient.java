@@ -10,6 +10,7 @@ import java.net.URI;
 import java.net.http.*;
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Arrays;
 
 /**
  * Simple console client that calls the REST APIs and demonstrates a full lifecycle:
@@ -18,6 +19,9 @@ import java.time.LocalDate;
  *
  * Run this AFTER the Spring Boot app is running (http://localhost:8080).
  *
+ * With "load" as the first argument it runs the LoadGenerator instead (concurrent mixed traffic with a
+ * latency report), e.g. "load --rate=500 --workers=64 --duration=60"; see LoadGenerator for the options.
+ *
  * Note: To avoid Jackson ObjectId / identity-binding conflicts we always send reference objects that contain ONLY the id
  * when referencing an entity that already exists on the server.
  */
@@ -36,6 +40,10 @@ public class ServiceConsoleClient {
     }
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("load")) {
+            LoadGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         System.out.println("=== ServiceConsoleClient starting ===\n");
         try {
             // -------- CREATE --------
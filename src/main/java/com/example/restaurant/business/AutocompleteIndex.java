@@ -0,0 +1,171 @@
+package com.example.restaurant.business;
+
+import com.example.restaurant.dto.AutocompleteScope;
+import com.example.restaurant.dto.AutocompleteSuggestion;
+import com.example.restaurant.dto.RestaurantSummary;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.repository.LocationRepository;
+import com.example.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * AutocompleteIndex
+ *
+ * In-memory prefix indexes over restaurant names and "City, ST" labels behind
+ * GET /api/autocomplete, so typeahead never scans the restaurant table.
+ *
+ * The indexes are loaded once the application is ready and then kept current by BusinessManager,
+ * which reports every restaurant/location save and delete. Changes are applied after the
+ * transaction commits, so a rollback never shows up in suggestions. Until loading finishes, or
+ * if the restaurant count passes restaurant.autocomplete.max-names (which bounds the memory
+ * used), isServing() is false and BusinessManager answers from the database instead.
+ */
+@Component
+public class AutocompleteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteIndex.class);
+    private static final int LOAD_PAGE = 10_000;
+
+    private final RestaurantRepository restaurantRepo;
+    private final LocationRepository locationRepo;
+    private final int maxNames;
+
+    private final PrefixIndex restaurants = new PrefixIndex();
+    private final PrefixIndex cities = new PrefixIndex();
+
+    // Ids changed by committed writes while loading; the (possibly older) loaded row must not overwrite them
+    private final Set<Integer> restaurantsTouched = new HashSet<>();
+    private final Set<Integer> locationsTouched = new HashSet<>();
+    private boolean loading = true;
+
+    private volatile boolean ready;
+    private volatile boolean overflow;
+
+    public AutocompleteIndex(RestaurantRepository restaurantRepo, LocationRepository locationRepo,
+                             @Value("${restaurant.autocomplete.max-names:2000000}") int maxNames) {
+        this.restaurantRepo = restaurantRepo;
+        this.locationRepo = locationRepo;
+        this.maxNames = maxNames;
+    }
+
+    public boolean isServing() {
+        return ready && !overflow;
+    }
+
+    /** Suggestions from the in-memory indexes, in normalized-label order (callers check isServing first). */
+    public List<AutocompleteSuggestion> suggest(String prefix, AutocompleteScope scope, int limit) {
+        List<PrefixIndex.Match> r = scope == AutocompleteScope.CITIES ? List.of() : restaurants.startingWith(prefix, limit);
+        List<PrefixIndex.Match> c = scope == AutocompleteScope.RESTAURANTS ? List.of() : cities.startingWith(prefix, limit);
+        List<AutocompleteSuggestion> result = new ArrayList<>(Math.min(limit, r.size() + c.size()));
+        int i = 0, j = 0;
+        while (result.size() < limit && (i < r.size() || j < c.size())) {
+            if (j == c.size() || (i < r.size() && r.get(i).key().compareTo(c.get(j).key()) <= 0)) {
+                PrefixIndex.Match m = r.get(i++);
+                result.add(new AutocompleteSuggestion("restaurant", m.id(), m.label()));
+            } else {
+                PrefixIndex.Match m = c.get(j++);
+                result.add(new AutocompleteSuggestion("city", m.id(), m.label()));
+            }
+        }
+        return result;
+    }
+
+    // ---------------- Changes reported by BusinessManager ----------------
+
+    public void restaurantSaved(Integer id, String name) {
+        if (id != null) AfterCommit.run(() -> applyRestaurant(id, name));
+    }
+
+    public void restaurantDeleted(Integer id) {
+        if (id != null) AfterCommit.run(() -> applyRestaurant(id, null));
+    }
+
+    public void locationSaved(Integer id, String city, String state) {
+        if (id != null) AfterCommit.run(() -> applyLocation(id, cityLabel(city, state)));
+    }
+
+    public void locationDeleted(Integer id) {
+        if (id != null) AfterCommit.run(() -> applyLocation(id, null));
+    }
+
+    private synchronized void applyRestaurant(int id, String name) {
+        if (loading) restaurantsTouched.add(id);
+        if (overflow) return;
+        if (name != null && !restaurants.contains(id) && restaurants.size() >= maxNames) {
+            overflowed();
+            return;
+        }
+        restaurants.put(id, name);
+    }
+
+    private synchronized void applyLocation(int id, String label) {
+        if (loading) locationsTouched.add(id);
+        cities.put(id, label);
+    }
+
+    private void overflowed() {
+        overflow = true;
+        restaurants.clear();
+        log.warn("Autocomplete: more than {} restaurant names (restaurant.autocomplete.max-names); "
+                + "serving suggestions from the database", maxNames);
+    }
+
+    // ---------------- Initial load ----------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        for (Location l : locationRepo.findAll()) {
+            loadLocation(l.getId(), cityLabel(l.getCity(), l.getState()));
+        }
+        Integer after = 0;
+        List<RestaurantSummary> page;
+        do {
+            page = restaurantRepo.findSummaries(after, Limit.of(LOAD_PAGE));
+            for (RestaurantSummary r : page) {
+                if (!loadRestaurant(r.id(), r.restaurantName())) break;
+                after = r.id();
+            }
+        } while (page.size() == LOAD_PAGE && !overflow);
+        synchronized (this) {
+            loading = false;
+            restaurantsTouched.clear();
+            locationsTouched.clear();
+        }
+        ready = true;
+        log.info("Autocomplete: indexed {} restaurants and {} locations in {} ms", restaurants.size(), cities.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // False once the cap is reached
+    private synchronized boolean loadRestaurant(int id, String name) {
+        if (overflow) return false;
+        if (restaurantsTouched.contains(id)) return true;
+        if (restaurants.size() >= maxNames) {
+            overflowed();
+            return false;
+        }
+        restaurants.put(id, name);
+        return true;
+    }
+
+    private synchronized void loadLocation(int id, String label) {
+        if (!locationsTouched.contains(id)) cities.put(id, label);
+    }
+
+    static String cityLabel(String city, String state) {
+        if (city == null || city.isBlank()) return null;
+        return state == null || state.isBlank() ? city.trim() : city.trim() + ", " + state.trim();
+    }
+}
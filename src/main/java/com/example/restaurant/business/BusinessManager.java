@@ -1,18 +1,53 @@
 package com.example.restaurant.business;
 
+import com.example.restaurant.dto.AutocompleteScope;
+import com.example.restaurant.dto.AutocompleteSuggestion;
+import com.example.restaurant.dto.Change;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.ChangeFeed;
+import com.example.restaurant.dto.DishSummary;
+import com.example.restaurant.dto.ExperienceSummary;
+import com.example.restaurant.dto.HaveTriedSummary;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.LeaderboardEntry;
+import com.example.restaurant.dto.NearbyRestaurant;
+import com.example.restaurant.dto.RatingMetric;
+import com.example.restaurant.dto.RatingSummary;
+import com.example.restaurant.dto.RestaurantDetail;
+import com.example.restaurant.dto.RestaurantScorecard;
+import com.example.restaurant.dto.RestaurantSummary;
+import com.example.restaurant.dto.SearchHit;
+import com.example.restaurant.dto.SearchPage;
+import com.example.restaurant.dto.SearchScope;
+import com.example.restaurant.dto.WantToTrySummary;
 import com.example.restaurant.model.*;
 import com.example.restaurant.repository.*;
 
+import jakarta.persistence.EntityManager;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * BusinessManager
@@ -29,14 +64,24 @@ import java.util.Set;
  *
  * Design choices:
  *  - Methods return the saved/updated entity for create/update, and the entity or null for reads.
- *  - Delete methods return boolean (true if delete invoked). Repositories do not return boolean,
- *    so a subsequent read is used for verification only if desired.
+ *  - Delete methods return boolean (true if a row was deleted). Where nothing has to be read
+ *    first, the delete is a single DELETE whose affected-row count gives the answer; Location and
+ *    Restaurant are removed through the second-level cache instead, so a lookup costs no query.
+ *  - Updates do not probe with existsById: an entity loaded in the current transaction is known
+ *    to exist, and anything else is looked up once, which also lets save() merge without re-selecting.
  *  - All mutating methods are annotated with @Transactional so a service can call multiple
  *    BusinessManager methods in one transaction if desired.
+ *  - Everything else runs in a read-only transaction (class-level default): Hibernate skips
+ *    dirty-checking snapshots and the flush, and the connection goes back to the pool when the
+ *    method returns. Open-in-view is off, so a read fetches every association its JSON includes
+ *    before returning (entity graphs on the repository finders); serialization happens after the
+ *    transaction and must not need the database.
  *  - Exceptions: repository failures throw unchecked DataAccessException (Spring). We do not
  *    declare SQLException here because Spring Data JPA works with unchecked data access exceptions.
+ *  - Every create, update and delete is reported to ChangeLog, which feeds GET /api/changes.
  */
 @Service
+@Transactional(readOnly = true)
 public class BusinessManager {
 
     // Repositories (one per entity). Assume these exist in com.example.restaurant.repository
@@ -47,6 +92,14 @@ public class BusinessManager {
     private final RatingRepository ratingRepo;
     private final ExperienceRepository experienceRepo;
     private final DishRepository dishRepo;
+    private final RestaurantRatingStatsRepository ratingStatsRepo;
+    private final RatingStatsMaintainer ratingStats;
+    private final FullTextSearchRepository searchRepo;
+    private final AutocompleteIndex autocomplete;
+    private final GeoIndex geo;
+    private final ChangeLog changeLog;
+    private final ChangeLogRepository changeLogRepo;
+    private final EntityManager em;
 
     private static final Set<String> US_STATES = Set.of(
         "AL","AK","AZ","AR","CA","CO","CT","DE","FL","GA","HI","ID","IL","IN","IA","KS","KY","LA","ME","MD",
@@ -54,6 +107,63 @@ public class BusinessManager {
         "SD","TN","TX","UT","VT","VA","WA","WV","WI","WY","DC"
     );
 
+    // Keyset page sizes: used when ?limit is missing/invalid, and the hard cap per request
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Summary rows are plain projections (no entities, no proxies), so a page may be much larger
+    public static final int MAX_SUMMARY_PAGE_SIZE = 10_000;
+
+    private static int summaryPageSize(Integer limit) {
+        if (limit == null || limit <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(limit, MAX_SUMMARY_PAGE_SIZE);
+    }
+
+    // Fetch one row more than the page size so we know whether a next page exists
+    private static Limit pageLimit(int size) {
+        return Limit.of(size + 1);
+    }
+
+    // Leaderboard sizes: default and hard cap for ?limit
+    public static final int DEFAULT_LEADERBOARD_SIZE = 20;
+    public static final int MAX_LEADERBOARD_SIZE = 100;
+
+    // Search page sizes, and how deep ?offset may go (relevance paging re-ranks everything before the page)
+    public static final int DEFAULT_SEARCH_SIZE = 20;
+    public static final int MAX_SEARCH_SIZE = 100;
+    public static final int MAX_SEARCH_DEPTH = 1_000;
+
+    // Autocomplete suggestion counts: default and hard cap for ?limit
+    public static final int DEFAULT_AUTOCOMPLETE_SIZE = 10;
+    public static final int MAX_AUTOCOMPLETE_SIZE = 50;
+
+    // Nearby search: result count default and cap, and the largest search radius
+    public static final int DEFAULT_NEARBY_SIZE = 20;
+    public static final int MAX_NEARBY_SIZE = 100;
+    public static final double MAX_NEARBY_RADIUS_KM = 500;
+
+    // Upper bound on restaurant ids per batch scorecard request (keeps the IN list reasonable)
+    public static final int MAX_SCORECARD_BATCH = 500;
+
+    private static Integer cursor(Integer afterId) {
+        return afterId == null ? 0 : afterId;
+    }
+
+    // Coordinates are optional, but must come as a pair of valid WGS84 degrees
+    private static void validateCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) return;
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+        if (!(latitude >= -90 && latitude <= 90)) throw new IllegalArgumentException("Invalid latitude: " + latitude);
+        if (!(longitude >= -180 && longitude <= 180)) throw new IllegalArgumentException("Invalid longitude: " + longitude);
+    }
+
     private void validateStateAbbr(String state) {
         if (state == null) throw new IllegalArgumentException("State is required");
         String up = state.trim().toUpperCase();
@@ -71,7 +181,15 @@ public class BusinessManager {
             HaveTriedRepository haveTriedRepo,
             RatingRepository ratingRepo,
             ExperienceRepository experienceRepo,
-            DishRepository dishRepo
+            DishRepository dishRepo,
+            RestaurantRatingStatsRepository ratingStatsRepo,
+            RatingStatsMaintainer ratingStats,
+            FullTextSearchRepository searchRepo,
+            AutocompleteIndex autocomplete,
+            GeoIndex geo,
+            ChangeLog changeLog,
+            ChangeLogRepository changeLogRepo,
+            EntityManager em
     ) {
         this.locationRepo = locationRepo;
         this.restaurantRepo = restaurantRepo;
@@ -80,6 +198,35 @@ public class BusinessManager {
         this.ratingRepo = ratingRepo;
         this.experienceRepo = experienceRepo;
         this.dishRepo = dishRepo;
+        this.ratingStatsRepo = ratingStatsRepo;
+        this.ratingStats = ratingStats;
+        this.searchRepo = searchRepo;
+        this.autocomplete = autocomplete;
+        this.geo = geo;
+        this.changeLog = changeLog;
+        this.changeLogRepo = changeLogRepo;
+        this.em = em;
+    }
+
+    // Restaurant a visit belongs to (one indexed lookup); null for a missing/unsaved visit
+    private Integer restaurantIdOfVisit(Integer haveTriedId) {
+        return haveTriedId == null ? null : haveTriedRepo.findRestaurantIdById(haveTriedId);
+    }
+
+    // Update precondition without an existence query for entities already in the persistence context
+    private <T> void requireExisting(T entity, Integer id, JpaRepository<T, Integer> repo, String name) {
+        if (em.contains(entity)) return;
+        if (repo.findById(id).isEmpty()) {
+            throw new IllegalArgumentException(name + " id " + id + " does not exist");
+        }
+    }
+
+    private static Integer idOf(HaveTried h) {
+        return h == null ? null : h.getId();
+    }
+
+    private static Integer idOf(Restaurant r) {
+        return r == null ? null : r.getId();
     }
 
     // ---------------- Location CRUD ----------------
@@ -98,7 +245,10 @@ public class BusinessManager {
         loc.setState(stateNormalized);
 
         loc.setId(null); // ensure created as new entity
-        return locationRepo.save(loc);
+        Location saved = locationRepo.save(loc);
+        autocomplete.locationSaved(saved.getId(), saved.getCity(), saved.getState());
+        changeLog.saved(ChangeEntity.LOCATIONS, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -109,9 +259,7 @@ public class BusinessManager {
         if (loc.getId() == null) {
             throw new IllegalArgumentException("Location must have an id to update");
         }
-        if (!locationRepo.existsById(loc.getId())) {
-            throw new IllegalArgumentException("Location id " + loc.getId() + " does not exist");
-        }
+        requireExisting(loc, loc.getId(), locationRepo, "Location");
 
         if (loc.getCity() == null || loc.getCity().trim().isEmpty()) {
             throw new IllegalArgumentException("City is required");
@@ -122,7 +270,10 @@ public class BusinessManager {
         loc.setState(stateNormalized);
 
         // Save will perform the update since id is present
-        return locationRepo.save(loc);
+        Location saved = locationRepo.save(loc);
+        autocomplete.locationSaved(saved.getId(), saved.getCity(), saved.getState());
+        changeLog.saved(ChangeEntity.LOCATIONS, saved.getId());
+        return saved;
     }
 
     /**
@@ -145,11 +296,27 @@ public class BusinessManager {
         return locationRepo.findAll();
     }
 
+    public KeysetPage<Location> findLocationsPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(locationRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, Location::getId);
+    }
+
+    /**
+     * Streams every row from a server-side cursor. The stream holds an open result set, so it
+     * must be consumed (and closed) inside the caller's transaction.
+     */
+    public Stream<Location> streamAllLocations() throws DataAccessException {
+        return locationRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteLocationById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!locationRepo.existsById(id)) return false;
-        locationRepo.deleteById(id);
+        Location existing = locationRepo.findById(id).orElse(null);
+        if (existing == null) return false;
+        locationRepo.delete(existing);
+        autocomplete.locationDeleted(id);
+        changeLog.deleted(ChangeEntity.LOCATIONS, id);
         return true;
     }
 
@@ -157,16 +324,25 @@ public class BusinessManager {
 
     @Transactional
     public Restaurant createRestaurant(Restaurant r) throws DataAccessException {
+        validateCoordinates(r.getLatitude(), r.getLongitude());
         r.setId(null);
-        return restaurantRepo.save(r);
+        Restaurant saved = restaurantRepo.save(r);
+        autocomplete.restaurantSaved(saved.getId(), saved.getRestaurantName());
+        geo.restaurantSaved(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        changeLog.saved(ChangeEntity.RESTAURANTS, saved.getId());
+        return saved;
     }
 
     @Transactional
     public Restaurant updateRestaurant(Restaurant r) throws DataAccessException {
         if (r == null || r.getId() == null) throw new IllegalArgumentException("Restaurant id required for update");
-        if (!restaurantRepo.existsById(r.getId()))
-            throw new IllegalArgumentException("Restaurant id " + r.getId() + " does not exist");
-        return restaurantRepo.save(r);
+        validateCoordinates(r.getLatitude(), r.getLongitude());
+        requireExisting(r, r.getId(), restaurantRepo, "Restaurant");
+        Restaurant saved = restaurantRepo.save(r);
+        autocomplete.restaurantSaved(saved.getId(), saved.getRestaurantName());
+        geo.restaurantSaved(saved.getId(), saved.getLatitude(), saved.getLongitude());
+        changeLog.saved(ChangeEntity.RESTAURANTS, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -176,18 +352,39 @@ public class BusinessManager {
     }
 
     public Restaurant findRestaurantById(Integer id) throws DataAccessException {
-        return restaurantRepo.findById(id).orElse(null);
+        Restaurant r = restaurantRepo.findById(id).orElse(null);
+        // Usually a second-level cache hit for both; a fetch join would bypass the cache
+        if (r != null) Hibernate.initialize(r.getLocation());
+        return r;
     }
 
     public List<Restaurant> findAllRestaurants() throws DataAccessException {
         return restaurantRepo.findAll();
     }
 
+    public KeysetPage<Restaurant> findRestaurantsPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(restaurantRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, Restaurant::getId);
+    }
+
+    public KeysetPage<RestaurantSummary> findRestaurantSummaries(Integer afterId, Integer limit) throws DataAccessException {
+        int size = summaryPageSize(limit);
+        return KeysetPage.of(restaurantRepo.findSummaries(cursor(afterId), pageLimit(size)), size, RestaurantSummary::id);
+    }
+
+    public Stream<Restaurant> streamAllRestaurants() throws DataAccessException {
+        return restaurantRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteRestaurantById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!restaurantRepo.existsById(id)) return false;
-        restaurantRepo.deleteById(id);
+        Restaurant existing = restaurantRepo.findById(id).orElse(null);
+        if (existing == null) return false;
+        restaurantRepo.delete(existing);
+        autocomplete.restaurantDeleted(id);
+        geo.restaurantDeleted(id);
+        changeLog.deleted(ChangeEntity.RESTAURANTS, id);
         return true;
     }
 
@@ -196,15 +393,18 @@ public class BusinessManager {
     @Transactional
     public WantToTry createWantToTry(WantToTry w) throws DataAccessException {
         w.setId(null);
-        return wantToTryRepo.save(w);
+        WantToTry saved = wantToTryRepo.save(w);
+        changeLog.saved(ChangeEntity.WANTTOTRY, saved.getId());
+        return saved;
     }
 
     @Transactional
     public WantToTry updateWantToTry(WantToTry w) throws DataAccessException {
         if (w == null || w.getId() == null) throw new IllegalArgumentException("WantToTry id required for update");
-        if (!wantToTryRepo.existsById(w.getId()))
-            throw new IllegalArgumentException("WantToTry id " + w.getId() + " does not exist");
-        return wantToTryRepo.save(w);
+        requireExisting(w, w.getId(), wantToTryRepo, "WantToTry");
+        WantToTry saved = wantToTryRepo.save(w);
+        changeLog.saved(ChangeEntity.WANTTOTRY, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -214,18 +414,32 @@ public class BusinessManager {
     }
 
     public WantToTry findWantToTryById(Integer id) throws DataAccessException {
-        return wantToTryRepo.findById(id).orElse(null);
+        return wantToTryRepo.findWithParentsById(id).orElse(null);
     }
 
     public List<WantToTry> findAllWantToTry() throws DataAccessException {
         return wantToTryRepo.findAll();
     }
 
+    public KeysetPage<WantToTry> findWantToTryPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(wantToTryRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, WantToTry::getId);
+    }
+
+    public KeysetPage<WantToTrySummary> findWantToTrySummaries(Integer afterId, Integer limit) throws DataAccessException {
+        int size = summaryPageSize(limit);
+        return KeysetPage.of(wantToTryRepo.findSummaries(cursor(afterId), pageLimit(size)), size, WantToTrySummary::id);
+    }
+
+    public Stream<WantToTry> streamAllWantToTry() throws DataAccessException {
+        return wantToTryRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteWantToTryById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!wantToTryRepo.existsById(id)) return false;
-        wantToTryRepo.deleteById(id);
+        if (wantToTryRepo.deleteRowById(id) == 0) return false;
+        changeLog.deleted(ChangeEntity.WANTTOTRY, id);
         return true;
     }
 
@@ -234,15 +448,25 @@ public class BusinessManager {
     @Transactional
     public HaveTried createHaveTried(HaveTried h) throws DataAccessException {
         h.setId(null);
-        return haveTriedRepo.save(h);
+        HaveTried saved = haveTriedRepo.save(h);
+        changeLog.saved(ChangeEntity.HAVETRIED, saved.getId());
+        return saved;
     }
 
     @Transactional
     public HaveTried updateHaveTried(HaveTried h) throws DataAccessException {
         if (h == null || h.getId() == null) throw new IllegalArgumentException("HaveTried id required for update");
-        if (!haveTriedRepo.existsById(h.getId()))
-            throw new IllegalArgumentException("HaveTried id " + h.getId() + " does not exist");
-        return haveTriedRepo.save(h);
+        requireExisting(h, h.getId(), haveTriedRepo, "HaveTried");
+        Integer oldRestaurantId = h.hasPersistedState() ? h.persistedRestaurantId() : haveTriedRepo.findRestaurantIdById(h.getId());
+        HaveTried saved = haveTriedRepo.save(h);
+        // Moving a visit moves its ratings: both restaurants' stats change
+        Integer newRestaurantId = idOf(saved.getRestaurant());
+        if (!Objects.equals(oldRestaurantId, newRestaurantId)) {
+            ratingStats.restaurantChanged(oldRestaurantId);
+            ratingStats.restaurantChanged(newRestaurantId);
+        }
+        changeLog.saved(ChangeEntity.HAVETRIED, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -252,18 +476,35 @@ public class BusinessManager {
     }
 
     public HaveTried findHaveTriedById(Integer id) throws DataAccessException {
-        return haveTriedRepo.findById(id).orElse(null);
+        return haveTriedRepo.findWithParentsById(id).orElse(null);
     }
 
     public List<HaveTried> findAllHaveTried() throws DataAccessException {
         return haveTriedRepo.findAll();
     }
 
+    public KeysetPage<HaveTried> findHaveTriedPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(haveTriedRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, HaveTried::getId);
+    }
+
+    public KeysetPage<HaveTriedSummary> findHaveTriedSummaries(Integer afterId, Integer limit) throws DataAccessException {
+        int size = summaryPageSize(limit);
+        return KeysetPage.of(haveTriedRepo.findSummaries(cursor(afterId), pageLimit(size)), size, HaveTriedSummary::id);
+    }
+
+    public Stream<HaveTried> streamAllHaveTried() throws DataAccessException {
+        return haveTriedRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteHaveTriedById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!haveTriedRepo.existsById(id)) return false;
-        haveTriedRepo.deleteById(id);
+        Integer restaurantId = haveTriedRepo.findRestaurantIdById(id);
+        if (restaurantId == null || haveTriedRepo.deleteRowById(id) == 0) return false;
+        // Ratings, experiences and dishes go with it (ON DELETE CASCADE); rebuild the restaurant's stats at commit
+        ratingStats.restaurantChanged(restaurantId);
+        changeLog.deleted(ChangeEntity.HAVETRIED, id);
         return true;
     }
 
@@ -272,15 +513,31 @@ public class BusinessManager {
     @Transactional
     public Rating createRating(Rating r) throws DataAccessException {
         r.setId(null);
-        return ratingRepo.save(r);
+        Rating saved = ratingRepo.save(r);
+        ratingStats.ratingAdded(saved.getId(), idOf(saved.getHaveTried()), saved.getFoodRating(), saved.getVibeRating());
+        changeLog.saved(ChangeEntity.RATINGS, saved.getId());
+        return saved;
     }
 
     @Transactional
     public Rating updateRating(Rating r) throws DataAccessException {
         if (r == null || r.getId() == null) throw new IllegalArgumentException("Rating id required for update");
-        if (!ratingRepo.existsById(r.getId()))
-            throw new IllegalArgumentException("Rating id " + r.getId() + " does not exist");
-        return ratingRepo.save(r);
+        // A managed rating carries the values it was loaded with; for a detached one, load them
+        Rating before = em.contains(r) ? r : ratingRepo.findById(r.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Rating id " + r.getId() + " does not exist"));
+        Integer oldHaveTriedId = before.persistedHaveTriedId();
+        Integer oldFood = before.persistedFoodRating();
+        Integer oldVibe = before.persistedVibeRating();
+
+        Rating saved = ratingRepo.save(r);
+        if (!Objects.equals(oldHaveTriedId, idOf(saved.getHaveTried()))
+                || !Objects.equals(oldFood, saved.getFoodRating())
+                || !Objects.equals(oldVibe, saved.getVibeRating())) {
+            ratingStats.ratingRemoved(saved.getId(), restaurantIdOfVisit(oldHaveTriedId), oldFood, oldVibe);
+            ratingStats.ratingAdded(saved.getId(), idOf(saved.getHaveTried()), saved.getFoodRating(), saved.getVibeRating());
+        }
+        changeLog.saved(ChangeEntity.RATINGS, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -290,18 +547,34 @@ public class BusinessManager {
     }
 
     public Rating findRatingById(Integer id) throws DataAccessException {
-        return ratingRepo.findById(id).orElse(null);
+        return ratingRepo.findWithParentsById(id).orElse(null);
     }
 
     public List<Rating> findAllRatings() throws DataAccessException {
         return ratingRepo.findAll();
     }
 
+    public KeysetPage<Rating> findRatingsPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(ratingRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, Rating::getId);
+    }
+
+    public KeysetPage<RatingSummary> findRatingSummaries(Integer afterId, Integer limit) throws DataAccessException {
+        int size = summaryPageSize(limit);
+        return KeysetPage.of(ratingRepo.findSummaries(cursor(afterId), pageLimit(size)), size, RatingSummary::id);
+    }
+
+    public Stream<Rating> streamAllRatings() throws DataAccessException {
+        return ratingRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteRatingById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!ratingRepo.existsById(id)) return false;
-        ratingRepo.deleteById(id);
+        RatingRepository.RatingValues old = ratingRepo.findValuesById(id).orElse(null);
+        if (old == null || ratingRepo.deleteRowById(id) == 0) return false;
+        ratingStats.ratingRemoved(id, old.getRestaurantId(), old.getFoodRating(), old.getVibeRating());
+        changeLog.deleted(ChangeEntity.RATINGS, id);
         return true;
     }
 
@@ -310,15 +583,18 @@ public class BusinessManager {
     @Transactional
     public Experience createExperience(Experience e) throws DataAccessException {
         e.setId(null);
-        return experienceRepo.save(e);
+        Experience saved = experienceRepo.save(e);
+        changeLog.saved(ChangeEntity.EXPERIENCES, saved.getId());
+        return saved;
     }
 
     @Transactional
     public Experience updateExperience(Experience e) throws DataAccessException {
         if (e == null || e.getId() == null) throw new IllegalArgumentException("Experience id required for update");
-        if (!experienceRepo.existsById(e.getId()))
-            throw new IllegalArgumentException("Experience id " + e.getId() + " does not exist");
-        return experienceRepo.save(e);
+        requireExisting(e, e.getId(), experienceRepo, "Experience");
+        Experience saved = experienceRepo.save(e);
+        changeLog.saved(ChangeEntity.EXPERIENCES, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -328,18 +604,32 @@ public class BusinessManager {
     }
 
     public Experience findExperienceById(Integer id) throws DataAccessException {
-        return experienceRepo.findById(id).orElse(null);
+        return experienceRepo.findWithParentsById(id).orElse(null);
     }
 
     public List<Experience> findAllExperiences() throws DataAccessException {
         return experienceRepo.findAll();
     }
 
+    public KeysetPage<Experience> findExperiencesPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(experienceRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, Experience::getId);
+    }
+
+    public KeysetPage<ExperienceSummary> findExperienceSummaries(Integer afterId, Integer limit) throws DataAccessException {
+        int size = summaryPageSize(limit);
+        return KeysetPage.of(experienceRepo.findSummaries(cursor(afterId), pageLimit(size)), size, ExperienceSummary::id);
+    }
+
+    public Stream<Experience> streamAllExperiences() throws DataAccessException {
+        return experienceRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteExperienceById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!experienceRepo.existsById(id)) return false;
-        experienceRepo.deleteById(id);
+        if (experienceRepo.deleteRowById(id) == 0) return false;
+        changeLog.deleted(ChangeEntity.EXPERIENCES, id);
         return true;
     }
 
@@ -348,7 +638,9 @@ public class BusinessManager {
     @Transactional
     public Dish createDish(Dish d) throws DataAccessException {
         d.setId(null);
-        return dishRepo.save(d);
+        Dish saved = dishRepo.save(d);
+        changeLog.saved(ChangeEntity.DISHES, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -361,7 +653,9 @@ public class BusinessManager {
         if (updates.getFoodDescription() != null) existing.setFoodDescription(updates.getFoodDescription());
         if (updates.getHaveTried() != null) existing.setHaveTried(updates.getHaveTried());
 
-        return dishRepo.save(existing);
+        Dish saved = dishRepo.save(existing);
+        changeLog.saved(ChangeEntity.DISHES, saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -371,21 +665,130 @@ public class BusinessManager {
     }
 
     public Dish findDishById(Integer id) throws DataAccessException {
-        return dishRepo.findById(id).orElse(null);
+        return dishRepo.findWithParentsById(id).orElse(null);
     }
 
     public List<Dish> findAllDishes() throws DataAccessException {
         return dishRepo.findAll();
     }
 
+    public KeysetPage<Dish> findDishesPage(Integer afterId, Integer limit) throws DataAccessException {
+        int size = pageSize(limit);
+        return KeysetPage.of(dishRepo.findByIdGreaterThanOrderByIdAsc(cursor(afterId), pageLimit(size)), size, Dish::getId);
+    }
+
+    public KeysetPage<DishSummary> findDishSummaries(Integer afterId, Integer limit) throws DataAccessException {
+        int size = summaryPageSize(limit);
+        return KeysetPage.of(dishRepo.findSummaries(cursor(afterId), pageLimit(size)), size, DishSummary::id);
+    }
+
+    public Stream<Dish> streamAllDishes() throws DataAccessException {
+        return dishRepo.streamAll();
+    }
+
     @Transactional
     public boolean deleteDishById(Integer id) throws DataAccessException {
         if (id == null) return false;
-        if (!dishRepo.existsById(id)) return false;
-        dishRepo.deleteById(id);
+        if (dishRepo.deleteRowById(id) == 0) return false;
+        changeLog.deleted(ChangeEntity.DISHES, id);
         return true;
     }
 
+    // ---------------- Change feed ----------------
+
+    /**
+     * Changes logged after the since token, oldest first, one entry per row: a row changed several
+     * times within the page is listed once, at its last change, with its current state. Without a
+     * token only the current token is returned; a client takes it, downloads the collections, and
+     * from then on asks for the changes since it.
+     */
+    public ChangeFeed findChanges(Long since, Integer limit) throws DataAccessException {
+        if (since == null) return new ChangeFeed(List.of(), changeLogRepo.findLatestSeq(), false, false);
+        if (since < 0) throw new IllegalArgumentException("Invalid change token: " + since);
+        int size = pageSize(limit);
+        List<ChangeLogEntry> rows = changeLogRepo.findBySeqGreaterThanOrderBySeqAsc(since, pageLimit(size));
+        // Nothing new. A token beyond the end of the log is not rejected: it may come from a replica
+        // that is further ahead than the one serving this read
+        if (rows.isEmpty()) return new ChangeFeed(List.of(), since, false, false);
+        // Sequence numbers have no gaps, so anything but since + 1 means older entries were pruned
+        if (rows.get(0).getSeq() != since + 1) return new ChangeFeed(List.of(), since, false, true);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+
+        Map<String, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry row : rows) {
+            String key = row.getEntity() + '/' + row.getEntityId();
+            latest.remove(key);
+            latest.put(key, row);
+        }
+        Map<String, List<Integer>> savedIds = latest.values().stream()
+                .filter(row -> !row.isDeleted())
+                .collect(Collectors.groupingBy(ChangeLogEntry::getEntity, Collectors.mapping(ChangeLogEntry::getEntityId, Collectors.toList())));
+        Map<String, Map<Integer, Object>> current = new HashMap<>();
+        savedIds.forEach((entity, ids) -> current.put(entity, findCurrent(ChangeEntity.parse(entity), ids)));
+
+        List<Change> changes = new ArrayList<>(latest.size());
+        for (ChangeLogEntry row : latest.values()) {
+            // A saved row that is gone now was deleted later, possibly by a cascade: report a tombstone
+            Object data = row.isDeleted() ? null : current.get(row.getEntity()).get(row.getEntityId());
+            changes.add(new Change(row.getSeq(), row.getEntity(), row.getEntityId(), data == null, data));
+        }
+        return new ChangeFeed(changes, rows.get(rows.size() - 1).getSeq(), hasMore, false);
+    }
+
+    private Map<Integer, Object> findCurrent(ChangeEntity entity, List<Integer> ids) {
+        return switch (entity) {
+            case LOCATIONS -> byId(locationRepo.findAllById(ids), Location::getId);
+            case RESTAURANTS -> byId(restaurantRepo.findByIdIn(ids), Restaurant::getId);
+            case WANTTOTRY -> byId(wantToTryRepo.findByIdIn(ids), WantToTry::getId);
+            case HAVETRIED -> byId(haveTriedRepo.findByIdIn(ids), HaveTried::getId);
+            case RATINGS -> byId(ratingRepo.findByIdIn(ids), Rating::getId);
+            case EXPERIENCES -> byId(experienceRepo.findByIdIn(ids), Experience::getId);
+            case DISHES -> byId(dishRepo.findByIdIn(ids), Dish::getId);
+        };
+    }
+
+    private static <T> Map<Integer, Object> byId(List<T> rows, Function<T, Integer> idOf) {
+        Map<Integer, Object> map = new HashMap<>();
+        for (T row : rows) map.put(idOf.apply(row), row);
+        return map;
+    }
+
+    // ---------------- Version tags (ETags) ----------------
+
+    /**
+     * Version chain of a row without loading it: its own version, then those of the parents its
+     * JSON embeds (the same string as the entity's versionChain()), so it changes whenever GET
+     * /{id} would return something else. One join on primary keys; null if there is no such row.
+     */
+    public String findVersionChain(ChangeEntity entity, Integer id) {
+        if (id == null) return null;
+        Optional<String> chain = switch (entity) {
+            case LOCATIONS -> locationRepo.findVersionChainById(id);
+            case RESTAURANTS -> restaurantRepo.findVersionChainById(id);
+            case WANTTOTRY -> wantToTryRepo.findVersionChainById(id);
+            case HAVETRIED -> haveTriedRepo.findVersionChainById(id);
+            case RATINGS -> ratingRepo.findVersionChainById(id);
+            case EXPERIENCES -> experienceRepo.findVersionChainById(id);
+            case DISHES -> dishRepo.findVersionChainById(id);
+        };
+        return chain.orElse(null);
+    }
+
+    /**
+     * Change counter of a table's collection: the last change_log seq of the table or of a table
+     * above it, since parents are embedded in the JSON and deleting one deletes its children
+     * without logging them. Never below the last pruned seq, so pruning cannot bring back a value
+     * a client has seen for an older state. Changes made outside the API (the data generator,
+     * manual SQL) are not logged and do not move it.
+     */
+    public long findCollectionVersion(ChangeEntity entity) {
+        long last = changeLogRepo.findLatestSeqs(entity.keysWithParents()).stream().mapToLong(Long::longValue).max().orElse(0);
+        Long oldest = changeLogRepo.findOldestSeq();
+        long pruned = (oldest != null ? oldest : changeLogRepo.findNextSeq()) - 1;
+        return Math.max(last, pruned);
+    }
+
         // ----- Helper finder methods used by service layer (delegates to repositories) -----
 
     // Restaurants by location
@@ -394,6 +797,166 @@ public class BusinessManager {
         return restaurantRepo.findByLocationId(locationId);
     }
 
+    /**
+     * A restaurant with all its visits and their ratings, experiences and dishes, in a fixed number
+     * of queries however many visits there are: the restaurant and its location (usually
+     * second-level cache hits), the visits, then one subselect each for ratings, experiences and
+     * dishes. Null if the restaurant does not exist.
+     */
+    @Transactional(readOnly = true)
+    public RestaurantDetail findRestaurantDetail(Integer restaurantId) {
+        if (restaurantId == null) return null;
+        Restaurant r = restaurantRepo.findById(restaurantId).orElse(null);
+        if (r == null) return null;
+        return RestaurantDetail.of(r, haveTriedRepo.findByRestaurantId(restaurantId));
+    }
+
+    // Scorecard for one restaurant; null if the restaurant does not exist
+    public RestaurantScorecard findScorecard(Integer restaurantId) {
+        if (restaurantId == null) return null;
+        List<RestaurantScorecard> rows = haveTriedRepo.findScorecards(List.of(restaurantId));
+        if (!rows.isEmpty()) return rows.get(0);
+        return restaurantRepo.findById(restaurantId).isPresent() ? RestaurantScorecard.empty(restaurantId) : null;
+    }
+
+    // Scorecards for many restaurants in one query, in request order. Ids without visits
+    // (including unknown ids) get an empty scorecard.
+    public List<RestaurantScorecard> findScorecards(Collection<Integer> restaurantIds) {
+        if (restaurantIds == null || restaurantIds.isEmpty()) return List.of();
+        LinkedHashSet<Integer> ids = new LinkedHashSet<>(restaurantIds);
+        ids.remove(null);
+        if (ids.size() > MAX_SCORECARD_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_SCORECARD_BATCH + " restaurant ids per scorecard request");
+        }
+        if (ids.isEmpty()) return List.of();
+        Map<Integer, RestaurantScorecard> byId = haveTriedRepo.findScorecards(ids).stream()
+                .collect(Collectors.toMap(RestaurantScorecard::restaurantId, Function.identity()));
+        return ids.stream()
+                .map(id -> byId.getOrDefault(id, RestaurantScorecard.empty(id)))
+                .toList();
+    }
+
+    // Maintained rating aggregates for one restaurant (single primary-key read); null if the restaurant does not exist
+    public RestaurantRatingStats findRatingStats(Integer restaurantId) {
+        if (restaurantId == null) return null;
+        RestaurantRatingStats stats = ratingStatsRepo.findById(restaurantId).orElse(null);
+        if (stats != null) return stats;
+        return restaurantRepo.findById(restaurantId).isPresent() ? RestaurantRatingStats.empty(restaurantId) : null;
+    }
+
+    /**
+     * Top restaurants by average rating, optionally filtered by cuisine, type, city and state.
+     * Ranking and limiting happen in the database over restaurant_rating_stats, so the cost
+     * depends on the number of restaurants matching the filters, never on sorting every restaurant.
+     */
+    public List<LeaderboardEntry> findLeaderboard(String cuisine, String type, String city, String state,
+                                                  RatingMetric metric, Integer minRatings, Integer limit) {
+        int size = (limit == null || limit <= 0) ? DEFAULT_LEADERBOARD_SIZE : Math.min(limit, MAX_LEADERBOARD_SIZE);
+        int min = (minRatings == null || minRatings < 1) ? 1 : minRatings;
+        String stateNormalized = blankToNull(state) == null ? null : state.trim().toUpperCase();
+        return ratingStatsRepo.findLeaderboard(blankToNull(cuisine), blankToNull(type), blankToNull(city),
+                stateNormalized, metric == null ? RatingMetric.FOOD : metric, min, size);
+    }
+
+    /**
+     * Relevance-ranked full-text search (MySQL FULLTEXT, see FullTextSearchRepository). For ALL and
+     * REVIEWS each table is ranked on its own and the results are merged by score; every table
+     * returns at most offset + size + 1 rows, so a page never costs more than that per table.
+     */
+    public SearchPage search(String q, SearchScope scope, Integer offset, Integer limit) {
+        String text = blankToNull(q);
+        if (text == null) throw new IllegalArgumentException("Search text is required");
+        int size = (limit == null || limit <= 0) ? DEFAULT_SEARCH_SIZE : Math.min(limit, MAX_SEARCH_SIZE);
+        int from = (offset == null || offset < 0) ? 0 : offset;
+        if (from + size > MAX_SEARCH_DEPTH) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_DEPTH + " hits");
+        }
+        SearchScope s = scope == null ? SearchScope.ALL : scope;
+
+        List<SearchHit> hits;
+        if (s == SearchScope.RESTAURANTS) {
+            hits = searchRepo.searchRestaurants(text, from, size + 1);
+        } else if (s == SearchScope.DISHES) {
+            hits = searchRepo.searchDishes(text, from, size + 1);
+        } else {
+            // Merging needs every table's top (offset + size + 1) rows, then the page is cut from the merged list
+            int top = from + size + 1;
+            List<SearchHit> merged = new ArrayList<>();
+            if (s == SearchScope.ALL) {
+                merged.addAll(searchRepo.searchRestaurants(text, 0, top));
+                merged.addAll(searchRepo.searchDishes(text, 0, top));
+            }
+            merged.addAll(searchRepo.searchRatings(text, 0, top));
+            merged.addAll(searchRepo.searchExperiences(text, 0, top));
+            merged.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(SearchHit::kind)
+                    .thenComparing(SearchHit::id));
+            hits = merged.subList(Math.min(from, merged.size()), Math.min(top, merged.size()));
+        }
+
+        boolean more = hits.size() > size;
+        Integer next = more && from + size < MAX_SEARCH_DEPTH ? from + size : null;
+        return new SearchPage(more ? List.copyOf(hits.subList(0, size)) : List.copyOf(hits), next);
+    }
+
+    /**
+     * Restaurants nearest to a point, closest first: the limit nearest within radiusKm (default and
+     * cap MAX_NEARBY_RADIUS_KM). Served from the in-memory GeoIndex; while it is loading, the same
+     * search runs as bounding-box queries on idx_restaurant_lat_lon. Restaurants without
+     * coordinates never match.
+     */
+    public List<NearbyRestaurant> findNearby(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        if (latitude == null || longitude == null) throw new IllegalArgumentException("Latitude and longitude are required");
+        validateCoordinates(latitude, longitude);
+        if (radiusKm != null && !(radiusKm > 0)) throw new IllegalArgumentException("Invalid radius: " + radiusKm);
+        double maxKm = radiusKm == null ? MAX_NEARBY_RADIUS_KM : Math.min(radiusKm, MAX_NEARBY_RADIUS_KM);
+        int size = (limit == null || limit <= 0) ? DEFAULT_NEARBY_SIZE : Math.min(limit, MAX_NEARBY_SIZE);
+
+        List<GeoIndex.Hit> hits = geo.isServing()
+                ? geo.nearest(latitude, longitude, maxKm, size)
+                : GeoIndex.nearest(latitude, longitude, maxKm, size, box ->
+                        restaurantRepo.findGeoPointsInBox(box.minLat(), box.maxLat(), box.minLon(), box.maxLon()));
+        if (hits.isEmpty()) return List.of();
+
+        Map<Integer, RestaurantSummary> byId = restaurantRepo.findSummariesByIds(
+                        hits.stream().map(h -> h.point().id()).toList()).stream()
+                .collect(Collectors.toMap(RestaurantSummary::id, Function.identity()));
+        return hits.stream()
+                .filter(h -> byId.containsKey(h.point().id()))
+                .map(h -> NearbyRestaurant.of(byId.get(h.point().id()), h.point(), h.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Typeahead suggestions for restaurant names and cities starting with q, served from the
+     * in-memory AutocompleteIndex. While the index is loading (or over its size cap) the same
+     * answer comes from two LIKE 'prefix%' queries instead.
+     */
+    public List<AutocompleteSuggestion> autocomplete(String q, AutocompleteScope scope, Integer limit) {
+        String prefix = PrefixIndex.normalize(q);
+        if (prefix.isEmpty()) throw new IllegalArgumentException("Autocomplete text is required");
+        int size = (limit == null || limit <= 0) ? DEFAULT_AUTOCOMPLETE_SIZE : Math.min(limit, MAX_AUTOCOMPLETE_SIZE);
+        AutocompleteScope s = scope == null ? AutocompleteScope.ALL : scope;
+        if (autocomplete.isServing()) return autocomplete.suggest(prefix, s, size);
+
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<AutocompleteSuggestion> result = new ArrayList<>();
+        if (s != AutocompleteScope.CITIES) result.addAll(restaurantRepo.findNameSuggestions(pattern, Limit.of(size)));
+        if (s != AutocompleteScope.RESTAURANTS) result.addAll(locationRepo.findCitySuggestions(pattern, Limit.of(size)));
+        result.sort(Comparator.comparing((AutocompleteSuggestion a) -> PrefixIndex.normalize(a.label())));
+        return result.size() > size ? List.copyOf(result.subList(0, size)) : result;
+    }
+
+    private static String blankToNull(String s) {
+        return (s == null || s.trim().isEmpty()) ? null : s.trim();
+    }
+
+    // Drift repair for restaurant_rating_stats; returns the number of restaurants with ratings
+    @Transactional
+    public int rebuildRatingStats() {
+        return ratingStats.rebuildAll();
+    }
+
     // WantToTry by restaurant
     public List<WantToTry> findWantToTryByRestaurantId(Integer restaurantId) {
         if (restaurantId == null) return List.of();
@@ -0,0 +1,132 @@
+package com.example.restaurant.business;
+
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.model.ChangeLogEntry;
+import com.example.restaurant.repository.ChangeLogRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * ChangeLog
+ *
+ * Records which rows of the seven entity tables each transaction changed, for the delta-sync feed
+ * (GET /api/changes). BusinessManager reports every save and delete; entries are collected per
+ * transaction, one per row (the last change wins), and written just before it commits.
+ *
+ * Entries are numbered from the 'change_log' row of id_sequence. That row stays locked from the
+ * numbering until the commit, so numbers are handed out gap-free and in commit order: a client
+ * that has read up to n never later finds a change numbered n or below. So that the lock is held
+ * briefly and its holder never waits for another transaction's row locks, it is taken last: the
+ * session is flushed first, RatingStatsMaintainer writes before it (SYNCHRONIZATION_ORDER), and
+ * the log rows are the only writes after it.
+ *
+ * Listeners are called after every commit that logged changes (the SSE stream uses this).
+ */
+@Component
+public class ChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    // Order of the pre-commit write; other pre-commit writers must come before it
+    public static final int SYNCHRONIZATION_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private final ChangeLogRepository repo;
+    private final EntityManager em;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    public ChangeLog(ChangeLogRepository repo, EntityManager em) {
+        this.repo = repo;
+        this.em = em;
+    }
+
+    public void saved(ChangeEntity entity, Integer id) {
+        record(entity, id, false);
+    }
+
+    public void deleted(ChangeEntity entity, Integer id) {
+        record(entity, id, true);
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    private void record(ChangeEntity entity, Integer id, boolean deleted) {
+        if (id == null) return;
+        Map<Row, Boolean> rows = pending();
+        Row row = new Row(entity, id);
+        rows.remove(row);  // keep rows in the order of their last change
+        rows.put(row, deleted);
+    }
+
+    private void write(Map<Row, Boolean> rows) {
+        em.flush();
+        if (repo.reserveSeqs(rows.size()) == 0) {
+            throw new IllegalStateException("id_sequence has no 'change_log' row (see schema.sql)");
+        }
+        long seq = repo.findNextSeq() - rows.size();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Row, Boolean> e : rows.entrySet()) {
+            em.persist(new ChangeLogEntry(seq++, e.getKey().entity().key(), e.getKey().id(), e.getValue(), now));
+        }
+    }
+
+    private void committed() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                log.warn("Change listener failed", e);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Row, Boolean> pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes can only be logged inside a transaction");
+        }
+        Map<Row, Boolean> rows = (Map<Row, Boolean>) TransactionSynchronizationManager.getResource(this);
+        if (rows == null) {
+            Map<Row, Boolean> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return SYNCHRONIZATION_ORDER;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (!created.isEmpty()) write(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (!created.isEmpty()) committed();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeLog.this);
+                }
+            });
+            rows = created;
+        }
+        return rows;
+    }
+
+    private record Row(ChangeEntity entity, Integer id) {
+    }
+}
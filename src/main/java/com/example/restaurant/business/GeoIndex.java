@@ -0,0 +1,222 @@
+package com.example.restaurant.business;
+
+import com.example.restaurant.dto.GeoPoint;
+import com.example.restaurant.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * GeoIndex
+ *
+ * In-memory grid over restaurant coordinates behind GET /api/restaurants/nearby. The world is
+ * cut into 0.1 x 0.1 degree cells (about 11 km north-south); a nearby query only visits the
+ * cells overlapping its search circle, so its cost depends on how many restaurants are close
+ * to the point, not on the size of the restaurant table.
+ *
+ * Loaded once the application is ready and kept current by BusinessManager, which reports
+ * restaurant saves and deletes; changes are applied after commit. Until loading finishes,
+ * isServing() is false and BusinessManager runs the same search against idx_restaurant_lat_lon.
+ */
+@Component
+public class GeoIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final Logger log = LoggerFactory.getLogger(GeoIndex.class);
+    private static final int LOAD_PAGE = 10_000;
+    private static final double CELL_DEGREES = 0.1;
+    private static final int COLUMNS = 3600;          // 360 / CELL_DEGREES
+    private static final int ROWS = 1800;             // 180 / CELL_DEGREES
+    private static final double START_RADIUS_KM = 2;
+
+    /** Latitude/longitude rectangle in degrees; minLon <= maxLon (circles crossing 180 are split). */
+    public record Box(double minLat, double maxLat, double minLon, double maxLon) {
+    }
+
+    /** A point and its distance from the query point. */
+    public record Hit(GeoPoint point, double distanceKm) {
+    }
+
+    private record Point(double lat, double lon) {
+    }
+
+    private final RestaurantRepository restaurantRepo;
+    private final Map<Integer, Set<Integer>> cells = new ConcurrentHashMap<>();
+    private final Map<Integer, Point> points = new ConcurrentHashMap<>();
+
+    // Ids changed by committed writes while loading; the (possibly older) loaded row must not overwrite them
+    private final Set<Integer> touched = new HashSet<>();
+    private boolean loading = true;
+    private volatile boolean ready;
+
+    public GeoIndex(RestaurantRepository restaurantRepo) {
+        this.restaurantRepo = restaurantRepo;
+    }
+
+    public boolean isServing() {
+        return ready;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /** Up to k indexed restaurants within maxKm of (lat, lon), closest first. */
+    public List<Hit> nearest(double lat, double lon, double maxKm, int k) {
+        return nearest(lat, lon, maxKm, k, this::pointsIn);
+    }
+
+    /**
+     * Up to k points within maxKm of (lat, lon), closest first, from any source that can list the
+     * points inside a box. Starts with a small circle and doubles it until it holds k points: a
+     * circle with at least k points contains the k nearest, so dense areas never look far out.
+     */
+    public static List<Hit> nearest(double lat, double lon, double maxKm, int k,
+                                    Function<Box, Collection<GeoPoint>> pointsIn) {
+        double radius = Math.min(START_RADIUS_KM, maxKm);
+        while (true) {
+            List<Hit> hits = new ArrayList<>();
+            for (Box box : boxesAround(lat, lon, radius)) {
+                for (GeoPoint p : pointsIn.apply(box)) {
+                    double d = distanceKm(lat, lon, p.latitude(), p.longitude());
+                    if (d <= radius) hits.add(new Hit(p, d));
+                }
+            }
+            if (hits.size() >= k || radius >= maxKm) {
+                hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(h -> h.point().id()));
+                return hits.size() > k ? List.copyOf(hits.subList(0, k)) : hits;
+            }
+            radius = Math.min(radius * 2, maxKm);
+        }
+    }
+
+    // Bounding box(es) of the circle of radius km around (lat, lon); whole longitude band near the poles
+    public static List<Box> boxesAround(double lat, double lon, double km) {
+        double angular = km / EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angular);
+        double minLat = lat - dLat;
+        double maxLat = lat + dLat;
+        if (minLat <= -90 || maxLat >= 90) {
+            return List.of(new Box(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180));
+        }
+        double ratio = Math.sin(angular) / Math.cos(Math.toRadians(lat));
+        if (ratio >= 1) return List.of(new Box(minLat, maxLat, -180, 180));
+        double dLon = Math.toDegrees(Math.asin(ratio));
+        double minLon = lon - dLon;
+        double maxLon = lon + dLon;
+        if (minLon < -180) return List.of(new Box(minLat, maxLat, minLon + 360, 180), new Box(minLat, maxLat, -180, maxLon));
+        if (maxLon > 180) return List.of(new Box(minLat, maxLat, minLon, 180), new Box(minLat, maxLat, -180, maxLon - 360));
+        return List.of(new Box(minLat, maxLat, minLon, maxLon));
+    }
+
+    // Great-circle (haversine) distance in km
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private List<GeoPoint> pointsIn(Box box) {
+        List<GeoPoint> result = new ArrayList<>();
+        int firstRow = row(box.minLat()), lastRow = row(box.maxLat());
+        int firstColumn = column(box.minLon()), lastColumn = column(box.maxLon());
+        for (int y = firstRow; y <= lastRow; y++) {
+            for (int x = firstColumn; x <= lastColumn; x++) {
+                Set<Integer> ids = cells.get(y * COLUMNS + x);
+                if (ids == null) continue;
+                for (Integer id : ids) {
+                    Point p = points.get(id);
+                    if (p != null) result.add(new GeoPoint(id, p.lat(), p.lon()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int row(double lat) {
+        return Math.min(ROWS - 1, Math.max(0, (int) Math.floor((lat + 90) / CELL_DEGREES)));
+    }
+
+    private static int column(double lon) {
+        return Math.min(COLUMNS - 1, Math.max(0, (int) Math.floor((lon + 180) / CELL_DEGREES)));
+    }
+
+    private static int cellOf(Point p) {
+        return row(p.lat()) * COLUMNS + column(p.lon());
+    }
+
+    // ---------------- Changes reported by BusinessManager ----------------
+
+    public void restaurantSaved(Integer id, Double latitude, Double longitude) {
+        if (id != null) AfterCommit.run(() -> apply(id, latitude, longitude));
+    }
+
+    public void restaurantDeleted(Integer id) {
+        if (id != null) AfterCommit.run(() -> apply(id, null, null));
+    }
+
+    private synchronized void apply(int id, Double latitude, Double longitude) {
+        if (loading) touched.add(id);
+        put(id, latitude, longitude);
+    }
+
+    // Moves id to the cell of its new coordinates; null coordinates remove it
+    private void put(int id, Double latitude, Double longitude) {
+        Point old = points.remove(id);
+        if (old != null) {
+            int cell = cellOf(old);
+            Set<Integer> ids = cells.get(cell);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) cells.remove(cell);
+            }
+        }
+        if (latitude == null || longitude == null) return;
+        Point p = new Point(latitude, longitude);
+        cells.computeIfAbsent(cellOf(p), c -> ConcurrentHashMap.newKeySet()).add(id);
+        points.put(id, p);
+    }
+
+    // ---------------- Initial load ----------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        Integer after = 0;
+        List<GeoPoint> page;
+        do {
+            page = restaurantRepo.findGeoPoints(after, Limit.of(LOAD_PAGE));
+            for (GeoPoint p : page) {
+                loadPoint(p);
+                after = p.id();
+            }
+        } while (page.size() == LOAD_PAGE);
+        synchronized (this) {
+            loading = false;
+            touched.clear();
+        }
+        ready = true;
+        log.info("Nearby search: indexed {} restaurants in {} cells in {} ms", points.size(), cells.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void loadPoint(GeoPoint p) {
+        if (!touched.contains(p.id())) put(p.id(), p.latitude(), p.longitude());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.restaurant.business;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * PrefixIndex
+ *
+ * Sorted in-memory index of (id, label) pairs answering "labels starting with ..." lookups.
+ * Labels are kept in a skip list ordered by their normalized form (lower case, accents and
+ * repeated whitespace removed) followed by the id, so a prefix query is one O(log n) seek plus
+ * a walk over the matches it returns. Reads take no locks; writers are serialized.
+ *
+ * Memory is one skip-list entry and one id-map entry per label, which is why AutocompleteIndex
+ * caps the number of labels it will hold.
+ */
+public final class PrefixIndex {
+
+    private static final char ID_SEPARATOR = '\0';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /** One prefix match; key is the normalized sort key (used to merge results from several indexes). */
+    public record Match(String key, int id, String label) {
+    }
+
+    private final ConcurrentSkipListMap<String, String> labelsByKey = new ConcurrentSkipListMap<>();
+    private final Map<Integer, String> keysById = new ConcurrentHashMap<>();
+
+    // Lower case, accents stripped (NFD, marks removed), whitespace trimmed and collapsed: "  Cafe   Du MONDE" -> "cafe du monde"
+    public static String normalize(String s) {
+        if (s == null) return "";
+        String decomposed = Normalizer.normalize(s, Normalizer.Form.NFD);
+        String plain = MARKS.matcher(decomposed).replaceAll("");
+        return SPACES.matcher(plain.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return keysById.size();
+    }
+
+    public boolean contains(int id) {
+        return keysById.containsKey(id);
+    }
+
+    // Adds or replaces the label for id; a blank label removes it
+    public synchronized void put(int id, String label) {
+        String norm = normalize(label);
+        String old = keysById.remove(id);
+        if (old != null) labelsByKey.remove(old);
+        if (norm.isEmpty()) return;
+        String key = norm + ID_SEPARATOR + id;
+        labelsByKey.put(key, label.trim());
+        keysById.put(id, key);
+    }
+
+    public synchronized void remove(int id) {
+        String old = keysById.remove(id);
+        if (old != null) labelsByKey.remove(old);
+    }
+
+    public synchronized void clear() {
+        labelsByKey.clear();
+        keysById.clear();
+    }
+
+    /** Up to limit labels whose normalized form starts with the normalized prefix, in key order. */
+    public List<Match> startingWith(String prefix, int limit) {
+        String norm = normalize(prefix);
+        List<Match> result = new ArrayList<>(Math.min(limit, 64));
+        if (norm.isEmpty() || limit <= 0) return result;
+        for (Map.Entry<String, String> e : labelsByKey.subMap(norm, true, norm + Character.MAX_VALUE, false).entrySet()) {
+            String key = e.getKey();
+            int id = Integer.parseInt(key, key.lastIndexOf(ID_SEPARATOR) + 1, key.length(), 10);
+            result.add(new Match(key, id, e.getValue()));
+            if (result.size() == limit) break;
+        }
+        return result;
+    }
+}
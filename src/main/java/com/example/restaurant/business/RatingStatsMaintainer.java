@@ -0,0 +1,196 @@
+package com.example.restaurant.business;
+
+import com.example.restaurant.repository.HaveTriedRepository;
+import com.example.restaurant.repository.RestaurantRatingStatsRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * RatingStatsMaintainer
+ *
+ * Keeps restaurant_rating_stats in step with the rating table. BusinessManager reports every
+ * rating that is added or removed; changes are collected per restaurant for the current
+ * transaction and written just before it commits, so a batch of inserts costs one upsert per
+ * restaurant instead of one statement per rating, and a rollback leaves the stats untouched.
+ *
+ * Sums and counts are adjusted incrementally. A removed rating that may have been the min or
+ * max cannot be subtracted exactly, so that restaurant's row is recomputed from the base tables
+ * instead (one indexed grouped query over that restaurant's ratings). Ratings are tracked by id,
+ * so an update is a removal of the old values plus an addition of the new ones.
+ *
+ * Added ratings are reported by visit; the visits are resolved to restaurants in one query at
+ * commit, so a batch insert does not pay a lookup per rating.
+ */
+@Component
+public class RatingStatsMaintainer {
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final RestaurantRatingStatsRepository statsRepo;
+    private final HaveTriedRepository haveTriedRepo;
+
+    public RatingStatsMaintainer(RestaurantRatingStatsRepository statsRepo, HaveTriedRepository haveTriedRepo) {
+        this.statsRepo = statsRepo;
+        this.haveTriedRepo = haveTriedRepo;
+    }
+
+    public void ratingAdded(Integer ratingId, Integer haveTriedId, Integer food, Integer vibe) {
+        if (ratingId == null || haveTriedId == null || food == null || vibe == null) return;
+        Pending p = pending();
+        p.added.put(ratingId, new int[] {haveTriedId, food, vibe});
+        if (p.immediate) apply(p);
+    }
+
+    public void ratingRemoved(Integer ratingId, Integer restaurantId, Integer food, Integer vibe) {
+        if (restaurantId == null) return;
+        Pending p = pending();
+        // Added earlier in this same transaction: it never reached the stats row, so just drop it
+        if (ratingId != null && p.added.remove(ratingId) != null) return;
+        if (food == null || vibe == null) p.recompute.add(restaurantId);
+        else p.removed.computeIfAbsent(restaurantId, id -> new ArrayList<>()).add(new int[] {food, vibe});
+        if (p.immediate) apply(p);
+    }
+
+    // Visits were moved or deleted: rebuild this restaurant's row at commit
+    public void restaurantChanged(Integer restaurantId) {
+        if (restaurantId == null) return;
+        Pending p = pending();
+        p.recompute.add(restaurantId);
+        if (p.immediate) apply(p);
+    }
+
+    // Drift repair: recompute every row from the base tables. Returns the number of restaurants with stats.
+    public int rebuildAll() {
+        statsRepo.deleteAllStats();
+        return statsRepo.insertAllStatsFromRatings();
+    }
+
+    // deleteStats flushes the persistence context first (flushAutomatically), so the INSERT ... SELECT
+    // sees ratings and visits changed through entities in this transaction, not only native writes
+    private void recompute(Integer restaurantId) {
+        statsRepo.deleteStats(restaurantId);
+        statsRepo.insertStatsFromRatings(restaurantId);
+    }
+
+    private void apply(Pending p) {
+        Map<Integer, Integer> restaurantOfVisit = restaurantsOfVisits(p.added.values());
+        Map<Integer, Additions> additions = new TreeMap<>();
+        for (int[] a : p.added.values()) {
+            Integer restaurantId = restaurantOfVisit.get(a[0]);
+            if (restaurantId == null) continue; // visit deleted later in the same transaction
+            additions.computeIfAbsent(restaurantId, id -> new Additions()).add(a[1], a[2]);
+        }
+        Set<Integer> restaurantIds = new TreeSet<>(additions.keySet());
+        restaurantIds.addAll(p.removed.keySet());
+        restaurantIds.addAll(p.recompute);
+
+        // Rows are always touched in id order, so concurrent commits cannot deadlock on them
+        for (Integer restaurantId : restaurantIds) {
+            if (p.recompute.contains(restaurantId)) {
+                recompute(restaurantId);
+                continue;
+            }
+            boolean exact = true;
+            for (int[] r : p.removed.getOrDefault(restaurantId, List.of())) {
+                if (statsRepo.removeRating(restaurantId, r[0], r[1]) == 0) {
+                    exact = false;
+                    break;
+                }
+            }
+            Additions a = additions.get(restaurantId);
+            if (!exact) {
+                recompute(restaurantId);
+            } else if (a != null) {
+                statsRepo.addRatings(restaurantId, a.count, a.foodSum, a.vibeSum,
+                        a.foodMin, a.foodMax, a.vibeMin, a.vibeMax);
+            }
+        }
+        p.added.clear();
+        p.removed.clear();
+        p.recompute.clear();
+    }
+
+    private Map<Integer, Integer> restaurantsOfVisits(Collection<int[]> added) {
+        List<Integer> visitIds = added.stream().map(a -> a[0]).distinct().toList();
+        Map<Integer, Integer> restaurantOfVisit = new HashMap<>();
+        for (int i = 0; i < visitIds.size(); i += LOOKUP_CHUNK) {
+            List<Integer> chunk = visitIds.subList(i, Math.min(i + LOOKUP_CHUNK, visitIds.size()));
+            for (Object[] row : haveTriedRepo.findRestaurantIdsByIds(chunk)) {
+                restaurantOfVisit.put((Integer) row[0], (Integer) row[1]);
+            }
+        }
+        return restaurantOfVisit;
+    }
+
+    private Pending pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Pending p = new Pending();
+            p.immediate = true;
+            return p;
+        }
+        Pending p = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (p == null) {
+            Pending created = new Pending();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // Before ChangeLog, which takes the last lock of the transaction
+                @Override
+                public int getOrder() {
+                    return ChangeLog.SYNCHRONIZATION_ORDER - 1;
+                }
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    apply(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RatingStatsMaintainer.this);
+                }
+            });
+            p = created;
+        }
+        return p;
+    }
+
+    // Changes collected for one transaction
+    private static final class Pending {
+        final Map<Integer, int[]> added = new HashMap<>();             // rating id -> {visit id, food, vibe}
+        final Map<Integer, List<int[]>> removed = new HashMap<>();     // restaurant id -> {food, vibe} of removed ratings
+        final Set<Integer> recompute = new HashSet<>();
+        boolean immediate;
+    }
+
+    // New ratings for one restaurant, folded into a single upsert
+    private static final class Additions {
+        int count;
+        int foodSum;
+        int vibeSum;
+        int foodMin = Integer.MAX_VALUE;
+        int foodMax = Integer.MIN_VALUE;
+        int vibeMin = Integer.MAX_VALUE;
+        int vibeMax = Integer.MIN_VALUE;
+
+        void add(int food, int vibe) {
+            count++;
+            foodSum += food;
+            vibeSum += vibe;
+            foodMin = Math.min(foodMin, food);
+            foodMax = Math.max(foodMax, food);
+            vibeMin = Math.min(vibeMin, vibe);
+            vibeMax = Math.max(vibeMax, vibe);
+        }
+    }
+}
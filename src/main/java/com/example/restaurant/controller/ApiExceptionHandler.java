@@ -0,0 +1,28 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.service.VersionMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Lost-update protection of PUT /{id} (see the @Version field of the entities). Either way nothing
+ * was written, and the client re-reads the row for its current ETag before trying again:
+ * - 412 Precondition Failed: the If-Match version is not the row's current one.
+ * - 409 Conflict: another update committed between this one's read and its write.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<Void> versionMismatch(VersionMismatchException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> concurrentUpdate(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.AutocompleteScope;
+import com.example.restaurant.dto.AutocompleteSuggestion;
+import com.example.restaurant.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private final SearchService service;
+
+    public AutocompleteController(SearchService service) {
+        this.service = service;
+    }
+
+    // e.g. GET /api/autocomplete?q=lou+m&type=restaurants&limit=10
+    @GetMapping
+    public ResponseEntity<List<AutocompleteSuggestion>> autocomplete(@RequestParam String q,
+                                                                     @RequestParam(defaultValue = "all") String type,
+                                                                     @RequestParam(required = false) Integer limit) {
+        AutocompleteScope scope = AutocompleteScope.parse(type);
+        if (scope == null) return ResponseEntity.badRequest().build();
+        try {
+            return ResponseEntity.ok(service.autocomplete(q, scope, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
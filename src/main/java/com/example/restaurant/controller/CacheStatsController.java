@@ -0,0 +1,30 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.CacheRegionStats;
+import com.example.restaurant.service.CacheStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache/stats")
+public class CacheStatsController {
+
+    private final CacheStatsService service;
+
+    public CacheStatsController(CacheStatsService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public List<CacheRegionStats> findAll() {
+        return service.findAll();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        service.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
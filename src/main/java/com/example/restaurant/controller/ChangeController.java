@@ -0,0 +1,48 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.ChangeFeed;
+import com.example.restaurant.service.ChangeService;
+import com.example.restaurant.service.ChangeStreamService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeController {
+
+    private final ChangeService service;
+    private final ChangeStreamService stream;
+
+    public ChangeController(ChangeService service, ChangeStreamService stream) {
+        this.service = service;
+        this.stream = stream;
+    }
+
+    // e.g. GET /api/changes (just the current token), then GET /api/changes?since=<next>&limit=500;
+    // 410 Gone when the token is older than the log, and the client must download everything again
+    @GetMapping
+    public ResponseEntity<ChangeFeed> changes(@RequestParam(required = false) Long since,
+                                              @RequestParam(required = false) Integer limit) {
+        try {
+            ChangeFeed feed = service.findChanges(since, limit);
+            if (feed.resync()) return ResponseEntity.status(HttpStatus.GONE).body(feed);
+            return ResponseEntity.ok(feed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Server-sent events; an EventSource that reconnects resumes from its Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) Long since,
+                                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return ResponseEntity.ok(stream.subscribe(since != null ? since : lastEventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
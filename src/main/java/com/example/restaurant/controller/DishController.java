@@ -1,9 +1,17 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.DishSummary;
+import com.example.restaurant.dto.KeysetPage;
 import com.example.restaurant.model.Dish;
 import com.example.restaurant.service.DishService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,20 +20,39 @@ import java.util.List;
 public class DishController {
 
     private final DishService service;
+    private final HttpCaching caching;
 
-    public DishController(DishService service) {
+    public DishController(DishService service, HttpCaching caching) {
         this.service = service;
+        this.caching = caching;
+    }
+
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<List<Dish>> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.DISHES, service.findAll(ETags.ifNoneMatch(ifNoneMatch)));
     }
 
     @GetMapping
-    public List<Dish> findAll() {
-        return service.findAll();
+    public ResponseEntity<KeysetPage<Dish>> findPage(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.DISHES, service.findPage(after, limit, ETags.ifNoneMatch(ifNoneMatch)));
+    }
+
+    @GetMapping("/summaries")
+    public KeysetPage<DishSummary> summaries(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+        return service.findSummaries(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = service::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Dish> get(@PathVariable Integer id) {
-        return service.findById(id)
-                      .map(ResponseEntity::ok)
+    public ResponseEntity<Dish> get(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ETags.ifNoneMatch(ifNoneMatch))
+                      .map(x -> caching.respond(ChangeEntity.DISHES, x))
                       .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -41,11 +68,20 @@ public class DishController {
         // Optionally: return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<JsonNode> items) {
+        return service.createAll(items);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<JsonNode> items) {
+        return service.updateAll(items);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Dish> update(@PathVariable Integer id, @RequestBody Dish d) {
-        return service.update(id, d)
-                      .map(ResponseEntity::ok)
-                      .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Dish> update(@PathVariable Integer id, @RequestBody Dish d,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caching.updated(service.update(id, d, ETags.ifMatch(ifMatch)), ifMatch, Dish::versionChain);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,64 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.Versioned;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entity tags. A single row's tag is its version chain (see Restaurant.versionChain()), e.g.
+ * "4.1" for a restaurant at version 4 in a location at version 1; a collection's is a change_log
+ * sequence number (see BusinessManager.findCollectionVersion). Both are strong: they change
+ * whenever the JSON does.
+ */
+final class ETags {
+
+    // Not a version any row has, so an If-Match carrying it always fails the precondition
+    private static final int NO_MATCH = -1;
+
+    private ETags() {}
+
+    static String quote(String tag) {
+        return "\"" + tag + "\"";
+    }
+
+    /**
+     * The version If-Match asks for, or null without the header or for "*" (any version). Only the
+     * leading number of the tag, the row's own version, is compared: a PUT changes the row's own
+     * fields, so a change to an embedded parent does not conflict with it. A weak tag never
+     * matches under If-Match and a list of tags is not supported; both fail the precondition
+     * rather than update unconditionally.
+     */
+    static Integer ifMatch(String header) {
+        if (header == null || header.isBlank()) return null;
+        String tag = header.trim();
+        if (tag.equals("*")) return null;
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') return NO_MATCH;
+        String value = tag.substring(1, tag.length() - 1);
+        int dot = value.indexOf('.');
+        try {
+            return Integer.parseInt(dot < 0 ? value : value.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    /**
+     * The tags of If-None-Match, unquoted; empty without the header. Compared weakly, as RFC 9110
+     * asks for GET, so W/"3" counts as "3". "*" comes back as Versioned.ANY.
+     */
+    static Set<String> ifNoneMatch(String header) {
+        if (header == null || header.isBlank()) return Set.of();
+        Set<String> tags = new HashSet<>();
+        for (String part : header.split(",")) {
+            String tag = part.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*")) {
+                tags.add(Versioned.ANY);
+            } else if (tag.length() >= 2 && tag.charAt(0) == '"' && tag.charAt(tag.length() - 1) == '"') {
+                tags.add(tag.substring(1, tag.length() - 1));
+            }
+        }
+        return tags;
+    }
+}
@@ -1,9 +1,17 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.ExperienceSummary;
+import com.example.restaurant.dto.KeysetPage;
 import com.example.restaurant.model.Experience;
 import com.example.restaurant.service.ExperienceService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,17 +20,38 @@ import java.util.List;
 public class ExperienceController {
 
     private final ExperienceService service;
+    private final HttpCaching caching;
 
-    public ExperienceController(ExperienceService service) {
+    public ExperienceController(ExperienceService service, HttpCaching caching) {
         this.service = service;
+        this.caching = caching;
+    }
+
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<List<Experience>> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.EXPERIENCES, service.findAll(ETags.ifNoneMatch(ifNoneMatch)));
     }
 
     @GetMapping
-    public List<Experience> findAll() { return service.findAll(); }
+    public ResponseEntity<KeysetPage<Experience>> findPage(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.EXPERIENCES, service.findPage(after, limit, ETags.ifNoneMatch(ifNoneMatch)));
+    }
+
+    @GetMapping("/summaries")
+    public KeysetPage<ExperienceSummary> summaries(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+        return service.findSummaries(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = service::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Experience> get(@PathVariable Integer id) {
-        return service.findById(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Experience> get(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ETags.ifNoneMatch(ifNoneMatch)).map(x -> caching.respond(ChangeEntity.EXPERIENCES, x)).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/by-havetried/{haveTriedId}")
@@ -36,9 +65,20 @@ public class ExperienceController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<JsonNode> items) {
+        return service.createAll(items);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<JsonNode> items) {
+        return service.updateAll(items);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Experience> update(@PathVariable Integer id, @RequestBody Experience e) {
-        return service.update(id, e).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Experience> update(@PathVariable Integer id, @RequestBody Experience e,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caching.updated(service.update(id, e, ETags.ifMatch(ifMatch)), ifMatch, Experience::versionChain);
     }
 
     @DeleteMapping("/{id}")
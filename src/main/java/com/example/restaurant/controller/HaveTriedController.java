@@ -1,9 +1,17 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.HaveTriedSummary;
+import com.example.restaurant.dto.KeysetPage;
 import com.example.restaurant.model.HaveTried;
 import com.example.restaurant.service.HaveTriedService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,17 +20,38 @@ import java.util.List;
 public class HaveTriedController {
 
     private final HaveTriedService service;
+    private final HttpCaching caching;
 
-    public HaveTriedController(HaveTriedService service) {
+    public HaveTriedController(HaveTriedService service, HttpCaching caching) {
         this.service = service;
+        this.caching = caching;
+    }
+
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<List<HaveTried>> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.HAVETRIED, service.findAll(ETags.ifNoneMatch(ifNoneMatch)));
     }
 
     @GetMapping
-    public List<HaveTried> findAll() { return service.findAll(); }
+    public ResponseEntity<KeysetPage<HaveTried>> findPage(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.HAVETRIED, service.findPage(after, limit, ETags.ifNoneMatch(ifNoneMatch)));
+    }
+
+    @GetMapping("/summaries")
+    public KeysetPage<HaveTriedSummary> summaries(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+        return service.findSummaries(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = service::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<HaveTried> get(@PathVariable Integer id) {
-        return service.findById(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<HaveTried> get(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ETags.ifNoneMatch(ifNoneMatch)).map(x -> caching.respond(ChangeEntity.HAVETRIED, x)).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/by-restaurant/{restaurantId}")
@@ -36,9 +65,20 @@ public class HaveTriedController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<JsonNode> items) {
+        return service.createAll(items);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<JsonNode> items) {
+        return service.updateAll(items);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<HaveTried> update(@PathVariable Integer id, @RequestBody HaveTried h) {
-        return service.update(id, h).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<HaveTried> update(@PathVariable Integer id, @RequestBody HaveTried h,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caching.updated(service.update(id, h, ETags.ifMatch(ifMatch)), ifMatch, HaveTried::versionChain);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,62 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.Versioned;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Responses of conditional GETs on the entity endpoints (GET /{id} and the collections): the
+ * ETag and Cache-Control headers, and 304 Not Modified without a body when the client's copy is
+ * current, in which case the service did not load anything either. PUT /{id} answers with the
+ * updated row's ETag, so a client can send its next If-Match without reading the row again.
+ *
+ * How long a client may use its copy without asking is set per entity with
+ * restaurant.http.max-age.<entity>, e.g. restaurant.http.max-age.restaurants=30s. At 0 the
+ * response says no-cache: keep it, but revalidate with If-None-Match every time. Locations,
+ * which rarely change, default to a minute; everything else to 0. Within max-age a client does
+ * not see even its own changes.
+ */
+@Component
+public class HttpCaching {
+
+    private static final Duration LOCATIONS_MAX_AGE = Duration.ofMinutes(1);
+
+    private final Map<ChangeEntity, CacheControl> policies = new EnumMap<>(ChangeEntity.class);
+
+    public HttpCaching(Environment env) {
+        for (ChangeEntity entity : ChangeEntity.values()) {
+            Duration fallback = entity == ChangeEntity.LOCATIONS ? LOCATIONS_MAX_AGE : Duration.ZERO;
+            Duration maxAge = env.getProperty("restaurant.http.max-age." + entity.key(), Duration.class, fallback);
+            policies.put(entity, maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge));
+        }
+    }
+
+    <T> ResponseEntity<T> respond(ChangeEntity entity, Versioned<T> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(result.notModified() ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(ETags.quote(result.tag()))
+                .cacheControl(policies.get(entity));
+        return result.notModified() ? response.build() : response.body(result.value());
+    }
+
+    /**
+     * Response of PUT /{id}: 200 with the row and its new tag. A missing row is 404, or 412 when the
+     * request had If-Match: with no current representation, no tag matches, "*" included (RFC 9110).
+     */
+    <T> ResponseEntity<T> updated(Optional<T> saved, String ifMatch, Function<T, String> tagOf) {
+        if (saved.isEmpty()) {
+            HttpStatus status = (ifMatch == null || ifMatch.isBlank()) ? HttpStatus.NOT_FOUND : HttpStatus.PRECONDITION_FAILED;
+            return ResponseEntity.status(status).build();
+        }
+        return ResponseEntity.ok().eTag(ETags.quote(tagOf.apply(saved.get()))).body(saved.get());
+    }
+}
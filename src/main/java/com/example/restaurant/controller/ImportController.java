@@ -0,0 +1,39 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.ImportReport;
+import com.example.restaurant.importer.CsvImporter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    private final CsvImporter importer;
+
+    public ImportController(CsvImporter importer) {
+        this.importer = importer;
+    }
+
+    @PostMapping(value = "/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportReport> importCsv(@RequestParam("file") MultipartFile file,
+                                                  @RequestParam(required = false) String job) throws IOException {
+        String jobName = (job == null || job.isBlank()) ? file.getOriginalFilename() : job;
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            ImportReport report = importer.importCsv(reader, jobName);
+            return report.completed() ? ResponseEntity.ok(report) : ResponseEntity.internalServerError().body(report);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
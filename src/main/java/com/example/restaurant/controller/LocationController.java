@@ -1,9 +1,16 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
 import com.example.restaurant.model.Location;
 import com.example.restaurant.service.LocationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,20 +19,34 @@ import java.util.List;
 public class LocationController {
 
     private final LocationService service;
+    private final HttpCaching caching;
 
-    public LocationController(LocationService service) {
+    public LocationController(LocationService service, HttpCaching caching) {
         this.service = service;
+        this.caching = caching;
+    }
+
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<List<Location>> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.LOCATIONS, service.findAll(ETags.ifNoneMatch(ifNoneMatch)));
     }
 
     @GetMapping
-    public List<Location> findAll() {
-        return service.findAll();
+    public ResponseEntity<KeysetPage<Location>> findPage(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.LOCATIONS, service.findPage(after, limit, ETags.ifNoneMatch(ifNoneMatch)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = service::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Location> get(@PathVariable Integer id) {
-        return service.findById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<Location> get(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ETags.ifNoneMatch(ifNoneMatch))
+                .map(x -> caching.respond(ChangeEntity.LOCATIONS, x))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -35,11 +56,20 @@ public class LocationController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<JsonNode> items) {
+        return service.createAll(items);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<JsonNode> items) {
+        return service.updateAll(items);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Location> update(@PathVariable Integer id, @RequestBody Location loc) {
-        return service.update(id, loc)
-                .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Location> update(@PathVariable Integer id, @RequestBody Location loc,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caching.updated(service.update(id, loc, ETags.ifMatch(ifMatch)), ifMatch, Location::versionChain);
     }
 
     @DeleteMapping("/{id}")
@@ -1,30 +1,66 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.LeaderboardEntry;
+import com.example.restaurant.dto.NearbyRestaurant;
+import com.example.restaurant.dto.RatingMetric;
+import com.example.restaurant.dto.RestaurantDetail;
+import com.example.restaurant.dto.RestaurantScorecard;
+import com.example.restaurant.dto.RestaurantSummary;
 import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.model.RestaurantRatingStats;
 import com.example.restaurant.service.RestaurantService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/restaurants")
 public class RestaurantController {
 
     private final RestaurantService service;
+    private final HttpCaching caching;
 
-    public RestaurantController(RestaurantService service) {
+    public RestaurantController(RestaurantService service, HttpCaching caching) {
         this.service = service;
+        this.caching = caching;
+    }
+
+    // Whole table only without after/limit; either one asks for a keyset page
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<List<Restaurant>> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.RESTAURANTS, service.findAll(ETags.ifNoneMatch(ifNoneMatch)));
     }
 
     @GetMapping
-    public List<Restaurant> findAll() {
-        return service.findAll();
+    public ResponseEntity<KeysetPage<Restaurant>> findPage(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.RESTAURANTS, service.findPage(after, limit, ETags.ifNoneMatch(ifNoneMatch)));
+    }
+
+    // Flat projection rows instead of entities; limit may go up to 10,000
+    @GetMapping("/summaries")
+    public KeysetPage<RestaurantSummary> summaries(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+        return service.findSummaries(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = service::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Restaurant> get(@PathVariable Integer id) {
-        return service.findById(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Restaurant> get(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ETags.ifNoneMatch(ifNoneMatch)).map(x -> caching.respond(ChangeEntity.RESTAURANTS, x)).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/by-location/{locationId}")
@@ -32,15 +68,86 @@ public class RestaurantController {
         return service.findByLocationId(locationId);
     }
 
+    // Restaurant, location and every visit with its ratings, experiences and dishes
+    @GetMapping("/{id}/full")
+    public ResponseEntity<RestaurantDetail> full(@PathVariable Integer id) {
+        return service.findDetail(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/scorecard")
+    public ResponseEntity<RestaurantScorecard> scorecard(@PathVariable Integer id) {
+        return service.findScorecard(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Batch variant: GET /api/restaurants/scorecards?ids=1,2,3
+    @GetMapping("/scorecards")
+    public ResponseEntity<List<RestaurantScorecard>> scorecards(@RequestParam List<Integer> ids) {
+        try {
+            return ResponseEntity.ok(service.findScorecards(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Maintained rating aggregates (O(1) read per restaurant)
+    @GetMapping("/{id}/rating-stats")
+    public ResponseEntity<RestaurantRatingStats> ratingStats(@PathVariable Integer id) {
+        return service.findRatingStats(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // e.g. GET /api/restaurants/leaderboard?cuisine=Italian&city=Chicago&state=IL&metric=food&limit=20
+    @GetMapping("/leaderboard")
+    public ResponseEntity<List<LeaderboardEntry>> leaderboard(@RequestParam(required = false) String cuisine,
+                                                              @RequestParam(required = false) String type,
+                                                              @RequestParam(required = false) String city,
+                                                              @RequestParam(required = false) String state,
+                                                              @RequestParam(defaultValue = "food") String metric,
+                                                              @RequestParam(required = false) Integer minRatings,
+                                                              @RequestParam(required = false) Integer limit) {
+        RatingMetric m = RatingMetric.parse(metric);
+        if (m == null) return ResponseEntity.badRequest().build();
+        return ResponseEntity.ok(service.findLeaderboard(cuisine, type, city, state, m, minRatings, limit));
+    }
+
+    // e.g. GET /api/restaurants/nearby?lat=41.8781&lon=-87.6298&radiusKm=5&limit=20 (no radiusKm: the nearest ones)
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRestaurant>> nearby(@RequestParam Double lat,
+                                                         @RequestParam Double lon,
+                                                         @RequestParam(required = false) Double radiusKm,
+                                                         @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(service.findNearby(lat, lon, radiusKm, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Drift repair: recompute restaurant_rating_stats from the rating table
+    @PostMapping("/rating-stats/rebuild")
+    public Map<String, Integer> rebuildRatingStats() {
+        return Map.of("restaurants", service.rebuildRatingStats());
+    }
+
     @PostMapping
     public ResponseEntity<Restaurant> create(@RequestBody Restaurant r) {
         Restaurant saved = service.create(r);
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<JsonNode> items) {
+        return service.createAll(items);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<JsonNode> items) {
+        return service.updateAll(items);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Restaurant> update(@PathVariable Integer id, @RequestBody Restaurant r) {
-        return service.update(id, r).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<Restaurant> update(@PathVariable Integer id, @RequestBody Restaurant r,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caching.updated(service.update(id, r, ETags.ifMatch(ifMatch)), ifMatch, Restaurant::versionChain);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,33 @@
+package com.example.restaurant.controller;
+
+import com.example.restaurant.dto.SearchPage;
+import com.example.restaurant.dto.SearchScope;
+import com.example.restaurant.service.SearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService service;
+
+    public SearchController(SearchService service) {
+        this.service = service;
+    }
+
+    // e.g. GET /api/search?q=spicy+noodles&type=dishes&limit=20 (then &offset=<nextOffset> for the next page)
+    @GetMapping
+    public ResponseEntity<SearchPage> search(@RequestParam String q,
+                                             @RequestParam(defaultValue = "all") String type,
+                                             @RequestParam(required = false) Integer offset,
+                                             @RequestParam(required = false) Integer limit) {
+        SearchScope scope = SearchScope.parse(type);
+        if (scope == null) return ResponseEntity.badRequest().build();
+        try {
+            return ResponseEntity.ok(service.search(q, scope, offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
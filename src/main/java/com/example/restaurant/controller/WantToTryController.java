@@ -1,9 +1,17 @@
 package com.example.restaurant.controller;
 
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.WantToTrySummary;
 import com.example.restaurant.model.WantToTry;
 import com.example.restaurant.service.WantToTryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -12,17 +20,38 @@ import java.util.List;
 public class WantToTryController {
 
     private final WantToTryService service;
+    private final HttpCaching caching;
 
-    public WantToTryController(WantToTryService service) {
+    public WantToTryController(WantToTryService service, HttpCaching caching) {
         this.service = service;
+        this.caching = caching;
+    }
+
+    @GetMapping(params = {"!after", "!limit"})
+    public ResponseEntity<List<WantToTry>> findAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.WANTTOTRY, service.findAll(ETags.ifNoneMatch(ifNoneMatch)));
     }
 
     @GetMapping
-    public List<WantToTry> findAll() { return service.findAll(); }
+    public ResponseEntity<KeysetPage<WantToTry>> findPage(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return caching.respond(ChangeEntity.WANTTOTRY, service.findPage(after, limit, ETags.ifNoneMatch(ifNoneMatch)));
+    }
+
+    @GetMapping("/summaries")
+    public KeysetPage<WantToTrySummary> summaries(@RequestParam(required = false) Integer after, @RequestParam(required = false) Integer limit) {
+        return service.findSummaries(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = service::exportNdjson;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 
     @GetMapping("/{id}")
-    public ResponseEntity<WantToTry> get(@PathVariable Integer id) {
-        return service.findById(id).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<WantToTry> get(@PathVariable Integer id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return service.findById(id, ETags.ifNoneMatch(ifNoneMatch)).map(x -> caching.respond(ChangeEntity.WANTTOTRY, x)).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @GetMapping("/by-restaurant/{restaurantId}")
@@ -36,9 +65,20 @@ public class WantToTryController {
         return ResponseEntity.ok(saved);
     }
 
+    @PostMapping("/batch")
+    public BatchResult createBatch(@RequestBody List<JsonNode> items) {
+        return service.createAll(items);
+    }
+
+    @PutMapping("/batch")
+    public BatchResult updateBatch(@RequestBody List<JsonNode> items) {
+        return service.updateAll(items);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<WantToTry> update(@PathVariable Integer id, @RequestBody WantToTry w) {
-        return service.update(id, w).map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<WantToTry> update(@PathVariable Integer id, @RequestBody WantToTry w,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return caching.updated(service.update(id, w, ETags.ifMatch(ifMatch)), ifMatch, WantToTry::versionChain);
     }
 
     @DeleteMapping("/{id}")
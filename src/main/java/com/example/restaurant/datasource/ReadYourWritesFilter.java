@@ -0,0 +1,81 @@
+package com.example.restaurant.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for replica reads: a client that has just written reads from the primary for
+ * the next window (restaurant.datasource.read-your-writes), so a lagging replica never hides its
+ * own write from it.
+ *
+ * Every /api request with a mutating method is pinned to the primary, and its response sets the
+ * cookie PRIMARY_UNTIL (epoch milliseconds); requests that send the cookie back before then are
+ * pinned as well. Clients that ignore cookies may read from a replica right after a write.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String PRIMARY_UNTIL = "primary-until";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    /** Whether the current request must read from the primary. */
+    static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().substring(request.getContextPath().length()).startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        String method = request.getMethod();
+        boolean write = !(method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS"));
+        if (write) {
+            Cookie cookie = new Cookie(PRIMARY_UNTIL, Long.toString(now + window.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (window.toMillis() + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        if (!write && !pinnedByCookie(request, now)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    private static boolean pinnedByCookie(HttpServletRequest request, long now) {
+        if (request.getCookies() == null) return false;
+        for (Cookie c : request.getCookies()) {
+            if (!c.getName().equals(PRIMARY_UNTIL)) continue;
+            try {
+                return Long.parseLong(c.getValue()) > now;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.restaurant.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions (see ReplicaDataSourceConfig). Replicas take turns;
+ * one that fails to hand out a connection is skipped until its next health check passes, and
+ * that request falls back to the primary. Reads also go to the primary when no replica is
+ * healthy or when ReadYourWritesFilter has pinned the request to it.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        volatile boolean healthy = true;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecks;
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration healthCheckInterval,
+                             MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        for (Replica r : replicas) {
+            Gauge.builder("restaurant.datasource.replica.healthy", r, x -> x.healthy ? 1 : 0)
+                    .description("1 while the replica passes health checks and takes reads, else 0")
+                    .tag("pool", r.pool.getPoolName())
+                    .register(registry);
+        }
+        this.healthChecks = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "replica-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        long millis = healthCheckInterval.toMillis();
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReadYourWritesFilter.isPinnedToPrimary()) {
+            int n = replicas.size();
+            int first = Math.floorMod(next.getAndIncrement(), n);
+            for (int i = 0; i < n; i++) {
+                Replica r = replicas.get((first + i) % n);
+                if (!r.healthy) continue;
+                try {
+                    return r.pool.getConnection();
+                } catch (SQLException e) {
+                    r.healthy = false;
+                    log.warn("Replica {} failed ({}); reading from the primary until it passes a health check",
+                            r.pool.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica credentials come from restaurant.datasource.replica-*");
+    }
+
+    /** Number of replicas currently taking reads. */
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(r -> r.healthy).count();
+    }
+
+    void checkReplicas() {
+        for (Replica r : replicas) {
+            boolean ok;
+            try (Connection c = r.pool.getConnection()) {
+                ok = c.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                ok = false;
+            }
+            if (ok != r.healthy) {
+                log.info("Replica {} is {}", r.pool.getPoolName(), ok ? "back; taking reads again" : "down; reads go to the primary");
+            }
+            r.healthy = ok;
+        }
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        for (Replica r : replicas) r.pool.close();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.restaurant.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends read-only transactions (all of BusinessManager's reads, and Spring Data's own finders) to
+ * read replicas and everything else to the primary. Active only when
+ * restaurant.datasource.replica-urls is set; otherwise Spring Boot's single pool is used as before.
+ *
+ * The DataSource the application sees is a LazyConnectionDataSourceProxy: it takes a real
+ * connection only when the first statement runs, by which time the transaction has marked it read
+ * only, and read-only connections come from ReplicaDataSource. Replica pools copy the primary's
+ * spring.datasource.hikari settings, but give up on a connection after at most a second so that a
+ * dead replica costs a read little before it falls back to the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "restaurant.datasource.replica-urls")
+public class ReplicaDataSourceConfig {
+
+    private static final long MAX_REPLICA_CONNECTION_TIMEOUT_MILLIS = 1000;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${restaurant.datasource.replica-urls}") String replicaUrls,
+            @Value("${restaurant.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${restaurant.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${restaurant.datasource.health-check-interval:5s}") Duration healthCheckInterval,
+            MeterRegistry registry) {
+        List<String> urls = Arrays.stream(replicaUrls.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        if (urls.isEmpty()) throw new IllegalArgumentException("restaurant.datasource.replica-urls has no URLs");
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setReadOnly(true);
+            // Start even when the replica is down; the health check picks it up once it is reachable
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(Math.min(primaryDataSource.getConnectionTimeout(), MAX_REPLICA_CONNECTION_TIMEOUT_MILLIS));
+            config.setMetricRegistry(null);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.add(new HikariDataSource(config));
+        }
+        return new ReplicaDataSource(primaryDataSource, pools, healthCheckInterval, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        proxy.setReadOnlyDataSource(replicaDataSource);
+        return proxy;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${restaurant.datasource.read-your-writes:2s}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.restaurant.dto;
+
+/**
+ * Which names autocomplete suggests: restaurant names, "City, ST" locations, or both.
+ */
+public enum AutocompleteScope {
+    ALL,
+    RESTAURANTS,
+    CITIES;
+
+    // Case-insensitive lookup for request parameters; null if unknown
+    public static AutocompleteScope parse(String value) {
+        if (value == null) return null;
+        for (AutocompleteScope s : values()) {
+            if (s.name().equalsIgnoreCase(value.trim())) return s;
+        }
+        return null;
+    }
+}
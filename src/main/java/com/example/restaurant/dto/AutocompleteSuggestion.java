@@ -0,0 +1,8 @@
+package com.example.restaurant.dto;
+
+/**
+ * One autocomplete suggestion: kind is "restaurant" or "city", id is the restaurant or location
+ * id, label is the text to show (restaurant name, or "City, ST").
+ */
+public record AutocompleteSuggestion(String kind, Integer id, String label) {
+}
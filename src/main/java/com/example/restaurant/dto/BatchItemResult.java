@@ -0,0 +1,19 @@
+package com.example.restaurant.dto;
+
+/**
+ * Outcome of one element of a batch request.
+ *
+ * index - position of the element in the request array
+ * id    - id of the created/updated row, null when the element failed
+ * error - why the element failed, null on success
+ */
+public record BatchItemResult(int index, Integer id, String error) {
+
+    public static BatchItemResult ok(int index, Integer id) {
+        return new BatchItemResult(index, id, null);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, null, error);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.restaurant.dto;
+
+import java.util.List;
+
+/**
+ * Result of a batch create/update: counts plus one entry per request element, in request order.
+ */
+public record BatchResult(int succeeded, int failed, List<BatchItemResult> items) {
+
+    public static BatchResult of(List<BatchItemResult> items) {
+        int failed = (int) items.stream().filter(i -> i.error() != null).count();
+        return new BatchResult(items.size() - failed, failed, items);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.restaurant.dto;
+
+/**
+ * Hit/miss counters for one second-level cache region since startup or the last reset.
+ */
+public record CacheRegionStats(String region, long hits, long misses, long puts, double hitRatio) {
+
+    public static CacheRegionStats of(String region, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        return new CacheRegionStats(region, hits, misses, puts, lookups == 0 ? 0.0 : (double) hits / lookups);
+    }
+}
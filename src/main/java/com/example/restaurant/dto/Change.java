@@ -0,0 +1,14 @@
+package com.example.restaurant.dto;
+
+/**
+ * One entry of the change feed: the latest change to one row.
+ *
+ * seq     - position in the change log; changes are listed in seq order
+ * entity  - the table, as its /api path segment (see ChangeEntity)
+ * id      - id of the row
+ * deleted - true for a tombstone: the row is gone. Deleting a restaurant or a visit also removes
+ *           its dependants (ON DELETE CASCADE) without a tombstone for each; clients drop them too
+ * data    - the row as GET /api/{entity}/{id} returns it now; null for a tombstone
+ */
+public record Change(long seq, String entity, Integer id, boolean deleted, Object data) {
+}
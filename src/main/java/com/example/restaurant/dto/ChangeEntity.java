@@ -0,0 +1,46 @@
+package com.example.restaurant.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The seven tables the change feed covers. key() is both the value stored in change_log.entity
+ * and the /api path segment of the entity (e.g. "havetried" for /api/havetried/{id}).
+ */
+public enum ChangeEntity {
+    LOCATIONS(null),
+    RESTAURANTS(LOCATIONS),
+    WANTTOTRY(RESTAURANTS),
+    HAVETRIED(RESTAURANTS),
+    RATINGS(HAVETRIED),
+    EXPERIENCES(HAVETRIED),
+    DISHES(HAVETRIED);
+
+    // The table a row references; its JSON embeds that row, and deleting that row deletes it
+    private final ChangeEntity parent;
+
+    ChangeEntity(ChangeEntity parent) {
+        this.parent = parent;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // Keys of this table and of every table above it, e.g. [dishes, havetried, restaurants, locations]
+    public List<String> keysWithParents() {
+        List<String> keys = new ArrayList<>();
+        for (ChangeEntity e = this; e != null; e = e.parent) keys.add(e.key());
+        return keys;
+    }
+
+    // Lookup by key; null if unknown
+    public static ChangeEntity parse(String value) {
+        if (value == null) return null;
+        for (ChangeEntity e : values()) {
+            if (e.key().equals(value)) return e;
+        }
+        return null;
+    }
+}
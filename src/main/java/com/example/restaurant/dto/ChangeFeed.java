@@ -0,0 +1,15 @@
+package com.example.restaurant.dto;
+
+import java.util.List;
+
+/**
+ * One page of GET /api/changes.
+ *
+ * changes - what changed after the requested token, one entry per row, in seq order
+ * next    - token to pass as ?since= next time (the same token when nothing changed)
+ * hasMore - more changes are already waiting; fetch again right away
+ * resync  - the log no longer goes back to the requested token (old entries were pruned); the
+ *           client must download everything again, starting from a fresh token
+ */
+public record ChangeFeed(List<Change> changes, long next, boolean hasMore, boolean resync) {
+}
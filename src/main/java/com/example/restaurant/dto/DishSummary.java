@@ -0,0 +1,7 @@
+package com.example.restaurant.dto;
+
+/**
+ * Dish list row; the visit is referenced by id.
+ */
+public record DishSummary(Integer id, Integer haveTriedId, String dishName, String foodDescription) {
+}
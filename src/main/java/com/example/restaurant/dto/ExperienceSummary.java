@@ -0,0 +1,9 @@
+package com.example.restaurant.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Experience list row; the visit is referenced by id.
+ */
+public record ExperienceSummary(Integer id, Integer haveTriedId, LocalDate date, String description) {
+}
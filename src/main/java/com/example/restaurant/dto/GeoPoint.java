@@ -0,0 +1,7 @@
+package com.example.restaurant.dto;
+
+/**
+ * A restaurant's coordinates (WGS84 degrees), as loaded into the nearby-search index.
+ */
+public record GeoPoint(Integer id, Double latitude, Double longitude) {
+}
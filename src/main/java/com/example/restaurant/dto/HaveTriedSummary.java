@@ -0,0 +1,7 @@
+package com.example.restaurant.dto;
+
+/**
+ * Visit list row: the restaurant is referenced by id and name only.
+ */
+public record HaveTriedSummary(Integer id, Integer restaurantId, String restaurantName) {
+}
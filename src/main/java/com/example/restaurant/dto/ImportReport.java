@@ -0,0 +1,20 @@
+package com.example.restaurant.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one CSV import run.
+ *
+ * recordsImported      - records written by this run
+ * recordsAlreadyDone   - records skipped because an earlier run of the same job committed them
+ * rejectedRestaurants  - restaurant groups skipped because of a bad record (see errors)
+ * errors               - the first problems found, with record numbers
+ * recordsPerSecond     - recordsImported over the run's wall-clock time
+ * failure              - why the run stopped early, or null if it reached the end of the input
+ */
+public record ImportReport(String job, boolean completed,
+                           long recordsImported, long recordsAlreadyDone,
+                           long restaurants, long visits, long ratings, long experiences, long dishes,
+                           long rejectedRestaurants, List<String> errors,
+                           long elapsedMillis, double recordsPerSecond, String failure) {
+}
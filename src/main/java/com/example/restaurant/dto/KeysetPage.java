@@ -0,0 +1,25 @@
+package com.example.restaurant.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) listing.
+ *
+ * items      - rows with id greater than the requested cursor, in ascending id order
+ * nextCursor - id to pass as ?after= to fetch the next page, or null when this is the last page
+ */
+public record KeysetPage<T>(List<T> items, Integer nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched up to limit + 1 rows. The extra row only
+     * signals that another page exists; it is dropped from the returned items.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Integer> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.restaurant.dto;
+
+/**
+ * One ranked restaurant in a leaderboard. score is the average of the ranking metric.
+ */
+public record LeaderboardEntry(
+        Integer restaurantId,
+        String restaurantName,
+        String type,
+        String cuisine,
+        String city,
+        String state,
+        Integer ratingCount,
+        Double avgFoodRating,
+        Double avgVibeRating,
+        Double score
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.restaurant.dto;
+
+/**
+ * Restaurant near a point, with its great-circle distance from that point in kilometres.
+ */
+public record NearbyRestaurant(Integer id, String restaurantName, String city, String state, String type,
+                               String cuisine, double latitude, double longitude, double distanceKm) {
+
+    public static NearbyRestaurant of(RestaurantSummary r, GeoPoint p, double distanceKm) {
+        return new NearbyRestaurant(r.id(), r.restaurantName(), r.city(), r.state(), r.type(), r.cuisine(),
+                p.latitude(), p.longitude(), distanceKm);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.restaurant.dto;
+
+/**
+ * Which rating average a leaderboard is ranked by.
+ */
+public enum RatingMetric {
+    FOOD,
+    VIBE,
+    OVERALL;
+
+    // Case-insensitive lookup for request parameters; null if unknown
+    public static RatingMetric parse(String value) {
+        if (value == null) return null;
+        for (RatingMetric m : values()) {
+            if (m.name().equalsIgnoreCase(value.trim())) return m;
+        }
+        return null;
+    }
+}
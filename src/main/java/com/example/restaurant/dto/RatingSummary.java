@@ -0,0 +1,7 @@
+package com.example.restaurant.dto;
+
+/**
+ * Rating list row; the visit is referenced by id.
+ */
+public record RatingSummary(Integer id, Integer haveTriedId, Integer foodRating, Integer vibeRating, String ratingDescription) {
+}
@@ -0,0 +1,47 @@
+package com.example.restaurant.dto;
+
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.Experience;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Rating;
+import com.example.restaurant.model.Restaurant;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A restaurant with its location and every visit, each with its ratings, experiences and dishes.
+ * Plain values only (no entity references), so it serializes without lazy loading or
+ * @JsonIdentityInfo ids. Visits and their children are in id order.
+ */
+public record RestaurantDetail(Integer id, String restaurantName, String type, String cuisine,
+                               Integer locationId, String city, String state, List<Visit> visits) {
+
+    public record Visit(Integer id, List<RatingItem> ratings, List<ExperienceItem> experiences, List<DishItem> dishes) {}
+
+    public record RatingItem(Integer id, Integer foodRating, Integer vibeRating, String ratingDescription) {}
+
+    public record ExperienceItem(Integer id, LocalDate date, String description) {}
+
+    public record DishItem(Integer id, String dishName, String foodDescription) {}
+
+    public static RestaurantDetail of(Restaurant r, List<HaveTried> visits) {
+        Location l = r.getLocation();
+        return new RestaurantDetail(r.getId(), r.getRestaurantName(), r.getType(), r.getCuisine(),
+                l.getId(), l.getCity(), l.getState(),
+                sorted(visits, HaveTried::getId, h -> new Visit(h.getId(),
+                        sorted(h.getRatings(), Rating::getId, x -> new RatingItem(x.getId(), x.getFoodRating(), x.getVibeRating(), x.getRatingDescription())),
+                        sorted(h.getExperiences(), Experience::getId, x -> new ExperienceItem(x.getId(), x.getDate(), x.getDescription())),
+                        sorted(h.getDishes(), Dish::getId, x -> new DishItem(x.getId(), x.getDishName(), x.getFoodDescription())))));
+    }
+
+    private static <T, R> List<R> sorted(List<T> items, Function<T, Integer> idOf, Function<T, R> map) {
+        return items.stream()
+                .sorted(Comparator.comparing(idOf, Comparator.nullsLast(Comparator.naturalOrder())))
+                .map(map)
+                .toList();
+    }
+}
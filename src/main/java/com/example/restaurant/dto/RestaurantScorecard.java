@@ -0,0 +1,27 @@
+package com.example.restaurant.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Rating summary for one restaurant, computed by a single grouped query over
+ * have_tried / rating (see HaveTriedRepository.findScorecards).
+ *
+ * Averages, minimums and maximums are null when the restaurant has no ratings.
+ */
+public record RestaurantScorecard(
+        Integer restaurantId,
+        Long visitCount,
+        Long ratingCount,
+        Double avgFoodRating,
+        Integer minFoodRating,
+        Integer maxFoodRating,
+        Double avgVibeRating,
+        Integer minVibeRating,
+        Integer maxVibeRating,
+        LocalDate lastExperienceDate
+) {
+
+    public static RestaurantScorecard empty(Integer restaurantId) {
+        return new RestaurantScorecard(restaurantId, 0L, 0L, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.restaurant.dto;
+
+/**
+ * Restaurant list row with its location flattened in, read straight from a JPQL constructor
+ * expression (see RestaurantRepository.findSummaries). Not an entity: no proxies to initialize
+ * and no @JsonIdentityInfo bookkeeping when serialized.
+ */
+public record RestaurantSummary(Integer id, String restaurantName, String city, String state, String type, String cuisine) {
+}
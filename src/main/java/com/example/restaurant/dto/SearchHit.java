@@ -0,0 +1,15 @@
+package com.example.restaurant.dto;
+
+/**
+ * One full-text search result.
+ *
+ * kind           - restaurant, dish, rating or experience
+ * id             - id of the matching row in that table
+ * restaurantId   - restaurant the row belongs to (the row itself for kind=restaurant)
+ * title          - restaurant or dish name; null for ratings and experiences
+ * text           - the matched description, if any
+ * score          - MySQL relevance; higher is better
+ */
+public record SearchHit(String kind, Integer id, Integer restaurantId, String restaurantName,
+                        String title, String text, double score) {
+}
@@ -0,0 +1,10 @@
+package com.example.restaurant.dto;
+
+import java.util.List;
+
+/**
+ * One page of search results, best first. nextOffset is the ?offset= for the next page, or null
+ * when there are no more results (or the maximum search depth is reached).
+ */
+public record SearchPage(List<SearchHit> hits, Integer nextOffset) {
+}
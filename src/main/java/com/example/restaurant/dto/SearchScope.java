@@ -0,0 +1,20 @@
+package com.example.restaurant.dto;
+
+/**
+ * What a full-text search looks at. REVIEWS covers rating descriptions and experience notes.
+ */
+public enum SearchScope {
+    ALL,
+    RESTAURANTS,
+    DISHES,
+    REVIEWS;
+
+    // Case-insensitive lookup for request parameters; null if unknown
+    public static SearchScope parse(String value) {
+        if (value == null) return null;
+        for (SearchScope s : values()) {
+            if (s.name().equalsIgnoreCase(value.trim())) return s;
+        }
+        return null;
+    }
+}
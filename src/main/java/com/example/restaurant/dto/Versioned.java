@@ -0,0 +1,44 @@
+package com.example.restaurant.dto;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A read together with its version tag, the unquoted ETag. value is null when the caller already
+ * has the representation with that tag (If-None-Match), in which case it was not loaded at all.
+ */
+public record Versioned<T>(String tag, T value) {
+
+    // If-None-Match: * (any representation the client has is current)
+    public static final String ANY = "*";
+
+    public boolean notModified() {
+        return value == null;
+    }
+
+    /** Compares the current tag with the client's first and loads the value only if they differ. */
+    public static <T> Versioned<T> load(String tag, Collection<String> knownTags, Supplier<T> loader) {
+        return known(tag, knownTags) ? new Versioned<>(tag, null) : new Versioned<>(tag, loader.get());
+    }
+
+    /**
+     * Single rows: with known tags, looks up the row's current tag (a cheap query) and loads the row
+     * only if it changed; without, loads it straight away, so a plain GET costs no extra query. A
+     * loaded row's tag is always taken from the row itself. Empty if there is no such row.
+     */
+    public static <T> Optional<Versioned<T>> find(Collection<String> knownTags, Supplier<String> currentTag,
+                                                  Supplier<T> loader, Function<T, String> tagOf) {
+        if (!knownTags.isEmpty()) {
+            String tag = currentTag.get();
+            if (tag == null) return Optional.empty();
+            if (known(tag, knownTags)) return Optional.of(new Versioned<>(tag, null));
+        }
+        return Optional.ofNullable(loader.get()).map(v -> new Versioned<>(tagOf.apply(v), v));
+    }
+
+    private static boolean known(String tag, Collection<String> knownTags) {
+        return knownTags.contains(tag) || knownTags.contains(ANY);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.restaurant.dto;
+
+/**
+ * Want-to-try list row: the restaurant is referenced by id and name only.
+ */
+public record WantToTrySummary(Integer id, Integer restaurantId, String restaurantName) {
+}
@@ -0,0 +1,229 @@
+package com.example.restaurant.generator;
+
+import com.example.restaurant.business.BusinessManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataGenerator
+ *
+ * Deterministic synthetic data for benchmarks and load tests: the same seed and sizes always
+ * produce the same rows. Distributions are meant to look like real usage rather than uniform noise:
+ *
+ *  - restaurants are spread over real US cities by a Zipf law (big cities get most of them),
+ *    with coordinates scattered around the city centre;
+ *  - cuisines are Zipf-skewed (a few dominate, a long tail is rare);
+ *  - visits per restaurant follow a Pareto law (most restaurants get one or two, a few popular
+ *    ones get hundreds), each visit with a rating, an experience and 1-3 dishes;
+ *  - ratings cluster around a per-restaurant quality; review texts have log-normal lengths
+ *    (median about 40 words, with a tail of several hundred).
+ *
+ * Rows are streamed, so memory does not grow with the size requested (10^3 to 10^7 rows across
+ * the seven tables). They go either straight to the database as JDBC batches (multi-row INSERTs
+ * on MySQL with rewriteBatchedStatements) or to tab-separated files plus a LOAD DATA script.
+ * Generated rows are added to what is already there; existing locations are reused by city/state.
+ */
+@Service
+public class DataGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DataGenerator.class);
+
+    public static final int MAX_RESTAURANTS = 5_000_000;
+    public static final double MAX_MEAN_VISITS = 100;
+
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAX_VISITS_PER_RESTAURANT = 2_000;
+    private static final double VISITS_PARETO_ALPHA = 1.5;
+    private static final double WANT_TO_TRY_SHARE = 0.3;
+    private static final double DESCRIBED_RATING_SHARE = 0.7;
+    private static final LocalDate LAST_VISIT_DATE = LocalDate.of(2026, 1, 1);
+    private static final int VISIT_DAYS = 5 * 365;
+
+    private final JdbcTemplate jdbc;
+    private final BusinessManager bm;
+    private final int batchRows;
+
+    public DataGenerator(JdbcTemplate jdbc, BusinessManager bm,
+                         @Value("${restaurant.generate.batch-rows:5000}") int batchRows) {
+        this.jdbc = jdbc;
+        this.bm = bm;
+        this.batchRows = Math.max(1, batchRows);
+    }
+
+    /**
+     * Generates restaurants restaurants and everything under them.
+     *
+     * @param meanVisits average visits per restaurant (0 for restaurants only)
+     * @param outputDir  null to insert into the database; otherwise the directory for .tsv files and load.sql
+     * @throws IllegalArgumentException if a size is out of range
+     */
+    public GenerationReport generate(long seed, int restaurants, double meanVisits, Path outputDir) throws IOException {
+        if (restaurants < 1 || restaurants > MAX_RESTAURANTS) {
+            throw new IllegalArgumentException("Restaurants must be 1-" + MAX_RESTAURANTS);
+        }
+        if (!(meanVisits >= 0 && meanVisits <= MAX_MEAN_VISITS)) {
+            throw new IllegalArgumentException("Mean visits per restaurant must be 0-" + (int) MAX_MEAN_VISITS);
+        }
+        long start = System.nanoTime();
+        Run run = new Run(new Random(seed), meanVisits, firstFreeIds());
+        try (RowSink sink = outputDir == null ? new JdbcRowSink(jdbc, batchRows) : new FileRowSink(outputDir)) {
+            int[] locationIds = locations(sink, run);
+            long lastLog = start;
+            for (int i = 0; i < restaurants; i++) {
+                restaurant(sink, run, locationIds);
+                if (System.nanoTime() - lastLog > PROGRESS_LOG_INTERVAL_NANOS) {
+                    lastLog = System.nanoTime();
+                    log.info("Generated {} of {} restaurants ({} rows)", i + 1, restaurants, run.totalRows());
+                }
+            }
+        }
+        if (outputDir == null) {
+            moveIdSequence(run);
+            bm.rebuildRatingStats();
+        }
+        GenerationReport report = new GenerationReport(seed, outputDir == null ? null : outputDir.toAbsolutePath().toString(),
+                run.count(GeneratedTable.LOCATION), run.count(GeneratedTable.RESTAURANT), run.count(GeneratedTable.WANT_TO_TRY),
+                run.count(GeneratedTable.HAVE_TRIED), run.count(GeneratedTable.RATING), run.count(GeneratedTable.EXPERIENCE),
+                run.count(GeneratedTable.DISH), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Generated {} rows in {} ms ({} rows/s)", report.totalRows(), report.elapsedMillis(),
+                Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    // Location id for each entry of SampleText.CITIES, creating the cities that do not exist yet
+    private int[] locations(RowSink sink, Run run) throws IOException {
+        Map<String, Integer> existing = new HashMap<>();
+        jdbc.query("SELECT id, city, state FROM location", rs -> {
+            existing.putIfAbsent(cityKey(rs.getString("city"), rs.getString("state")), rs.getInt("id"));
+        });
+        int[] ids = new int[SampleText.CITIES.length];
+        for (int i = 0; i < ids.length; i++) {
+            SampleText.City c = SampleText.CITIES[i];
+            Integer id = existing.get(cityKey(c.name(), c.state()));
+            if (id == null) {
+                id = run.nextId(GeneratedTable.LOCATION);
+                run.add(sink, GeneratedTable.LOCATION, id, c.name(), c.state());
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    private void restaurant(RowSink sink, Run run, int[] locationIds) throws IOException {
+        Random random = run.random;
+        int city = run.cities.sample(random);
+        SampleText.City c = SampleText.CITIES[city];
+        String cuisine = SampleText.CUISINES[run.cuisines.sample(random)];
+        int restaurantId = run.nextId(GeneratedTable.RESTAURANT);
+        run.add(sink, GeneratedTable.RESTAURANT, restaurantId, SampleText.restaurantName(random, cuisine),
+                locationIds[city], SampleText.TYPES[run.types.sample(random)], cuisine,
+                round6(c.latitude() + random.nextGaussian() * 0.05), round6(c.longitude() + random.nextGaussian() * 0.05));
+        if (random.nextDouble() < WANT_TO_TRY_SHARE) {
+            run.add(sink, GeneratedTable.WANT_TO_TRY, run.nextId(GeneratedTable.WANT_TO_TRY), restaurantId);
+        }
+
+        double quality = Math.max(1, Math.min(5, 3.6 + random.nextGaussian() * 0.7));
+        int visits = visits(random, run.meanVisits);
+        for (int v = 0; v < visits; v++) {
+            int visitId = run.nextId(GeneratedTable.HAVE_TRIED);
+            run.add(sink, GeneratedTable.HAVE_TRIED, visitId, restaurantId);
+            run.add(sink, GeneratedTable.RATING, run.nextId(GeneratedTable.RATING), visitId,
+                    score(random, quality), score(random, quality - 0.2),
+                    random.nextDouble() < DESCRIBED_RATING_SHARE ? SampleText.text(random, 40, 0.9, 1_500) : null);
+            run.add(sink, GeneratedTable.EXPERIENCE, run.nextId(GeneratedTable.EXPERIENCE), visitId,
+                    LAST_VISIT_DATE.minusDays(random.nextInt(VISIT_DAYS)), SampleText.text(random, 15, 0.6, 200));
+            int dishes = 1 + random.nextInt(3);
+            for (int d = 0; d < dishes; d++) {
+                run.add(sink, GeneratedTable.DISH, run.nextId(GeneratedTable.DISH), visitId,
+                        SampleText.dishName(random, cuisine), SampleText.text(random, 10, 0.5, 60));
+            }
+        }
+    }
+
+    // Pareto-distributed visit count with the requested mean (before rounding down), capped
+    private static int visits(Random random, double mean) {
+        if (mean <= 0) return 0;
+        double scale = mean * (VISITS_PARETO_ALPHA - 1) / VISITS_PARETO_ALPHA;
+        double v = scale / Math.pow(1 - random.nextDouble(), 1 / VISITS_PARETO_ALPHA);
+        return (int) Math.min(MAX_VISITS_PER_RESTAURANT, Math.floor(v));
+    }
+
+    private static int score(Random random, double quality) {
+        return (int) Math.max(1, Math.min(5, Math.round(quality + random.nextGaussian() * 0.8)));
+    }
+
+    private static double round6(double degrees) {
+        return Math.round(degrees * 1e6) / 1e6;
+    }
+
+    private static String cityKey(String city, String state) {
+        return city.trim().toLowerCase(Locale.ROOT) + "|" + state.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Generated ids start above both the highest id in use and the ids Hibernate may already have reserved
+    private Map<GeneratedTable, Integer> firstFreeIds() {
+        Map<GeneratedTable, Integer> ids = new EnumMap<>(GeneratedTable.class);
+        for (GeneratedTable t : GeneratedTable.values()) {
+            Integer maxId = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + t.table, Integer.class);
+            Long reserved = jdbc.queryForObject("SELECT COALESCE(MAX(next_val), 1) FROM id_sequence WHERE seq_name = ?",
+                    Long.class, t.table);
+            ids.put(t, (int) Math.max(maxId + 1L, reserved));
+        }
+        return ids;
+    }
+
+    private void moveIdSequence(Run run) {
+        for (GeneratedTable t : GeneratedTable.values()) {
+            jdbc.update("UPDATE id_sequence SET next_val = ? WHERE seq_name = ? AND next_val < ?",
+                    run.ids.get(t), t.table, run.ids.get(t));
+        }
+    }
+
+    // State of one generate() call
+    private static final class Run {
+        final Random random;
+        final double meanVisits;
+        final Map<GeneratedTable, Integer> ids;
+        final Map<GeneratedTable, long[]> counts = new EnumMap<>(GeneratedTable.class);
+        final ZipfSampler cities = new ZipfSampler(SampleText.CITIES.length, 1.0);
+        final ZipfSampler cuisines = new ZipfSampler(SampleText.CUISINES.length, 1.1);
+        final ZipfSampler types = new ZipfSampler(SampleText.TYPES.length, 0.8);
+
+        Run(Random random, double meanVisits, Map<GeneratedTable, Integer> ids) {
+            this.random = random;
+            this.meanVisits = meanVisits;
+            this.ids = ids;
+        }
+
+        int nextId(GeneratedTable t) {
+            return ids.merge(t, 1, Integer::sum) - 1;
+        }
+
+        void add(RowSink sink, GeneratedTable t, Object... row) throws IOException {
+            sink.add(t, row);
+            counts.computeIfAbsent(t, k -> new long[1])[0]++;
+        }
+
+        long count(GeneratedTable t) {
+            long[] c = counts.get(t);
+            return c == null ? 0 : c[0];
+        }
+
+        long totalRows() {
+            return counts.values().stream().mapToLong(c -> c[0]).sum();
+        }
+    }
+}
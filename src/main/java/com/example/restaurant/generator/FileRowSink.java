@@ -0,0 +1,93 @@
+package com.example.restaurant.generator;
+
+import com.example.restaurant.repository.RestaurantRatingStatsRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes one tab-separated file per table in LOAD DATA's default format (\N for NULL, backslash
+ * escapes), plus load.sql, which loads them in foreign-key order, moves id_sequence past the new
+ * ids and rebuilds restaurant_rating_stats:
+ *
+ *   mysql --local-infile=1 restaurant_manager < out/load.sql
+ */
+final class FileRowSink implements RowSink {
+
+    private final Path dir;
+    private final Map<GeneratedTable, Writer> writers = new EnumMap<>(GeneratedTable.class);
+
+    FileRowSink(Path dir) throws IOException {
+        this.dir = Files.createDirectories(dir).toAbsolutePath();
+    }
+
+    @Override
+    public void add(GeneratedTable table, Object... row) throws IOException {
+        Writer w = writers.get(table);
+        if (w == null) {
+            w = Files.newBufferedWriter(file(table), StandardCharsets.UTF_8);
+            writers.put(table, w);
+        }
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) w.write('\t');
+            w.write(row[i] == null ? "\\N" : escape(row[i].toString()));
+        }
+        w.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        for (Writer w : writers.values()) w.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Writer w : writers.values()) w.close();
+        try (BufferedWriter sql = Files.newBufferedWriter(dir.resolve("load.sql"), StandardCharsets.UTF_8)) {
+            sql.write("-- Generated by DataGenerator. Run with: mysql --local-infile=1 restaurant_manager < load.sql\n");
+            sql.write("SET foreign_key_checks = 0;\n");
+            for (GeneratedTable t : writers.keySet()) {
+                sql.write("LOAD DATA LOCAL INFILE '" + file(t).toString().replace("\\", "/") + "' INTO TABLE "
+                        + t.table + " CHARACTER SET utf8mb4 (" + t.columnList() + ");\n");
+            }
+            sql.write("SET foreign_key_checks = 1;\n");
+            for (GeneratedTable t : List.of(GeneratedTable.values())) {
+                sql.write("UPDATE id_sequence SET next_val = (SELECT COALESCE(MAX(id), 0) + 1 FROM " + t.table
+                        + ") WHERE seq_name = '" + t.table + "';\n");
+            }
+            sql.write("DELETE FROM restaurant_rating_stats;\n");
+            sql.write(RestaurantRatingStatsRepository.INSERT_ALL_STATS_SQL + ";\n");
+        }
+    }
+
+    private Path file(GeneratedTable t) {
+        return dir.resolve(t.table + ".tsv");
+    }
+
+    private static String escape(String s) {
+        StringBuilder b = null;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            String rep = switch (c) {
+                case '\\' -> "\\\\";
+                case '\t' -> "\\t";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                default -> null;
+            };
+            if (rep != null && b == null) b = new StringBuilder(s.length() + 8).append(s, 0, i);
+            if (b != null) {
+                if (rep != null) b.append(rep);
+                else b.append(c);
+            }
+        }
+        return b == null ? s : b.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.restaurant.generator;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The tables the generator fills, in foreign-key order (parents before children), with the
+ * columns it writes. Ids are always explicit so child rows can reference them without a lookup.
+ */
+enum GeneratedTable {
+    LOCATION("location", "id", "city", "state"),
+    RESTAURANT("restaurant", "id", "restaurant_name", "location_id", "type", "cuisine", "latitude", "longitude"),
+    WANT_TO_TRY("want_to_try", "id", "restaurant_id"),
+    HAVE_TRIED("have_tried", "id", "restaurant_id"),
+    RATING("rating", "id", "have_tried_id", "food_rating", "vibe_rating", "rating_description"),
+    EXPERIENCE("experience", "id", "have_tried_id", "`date`", "description"),
+    DISH("dish", "id", "have_tried_id", "dish_name", "food_description");
+
+    final String table;
+    final String[] columns;
+
+    GeneratedTable(String table, String... columns) {
+        this.table = table;
+        this.columns = columns;
+    }
+
+    String columnList() {
+        return String.join(", ", columns);
+    }
+
+    String insertSql() {
+        return "INSERT INTO " + table + " (" + columnList() + ") VALUES ("
+                + Arrays.stream(columns).map(c -> "?").collect(Collectors.joining(", ")) + ")";
+    }
+}
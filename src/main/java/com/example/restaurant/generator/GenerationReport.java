@@ -0,0 +1,19 @@
+package com.example.restaurant.generator;
+
+/**
+ * Rows written by one DataGenerator run, per table, and how long it took.
+ * output is the directory the .tsv files and load.sql were written to, or null for the database.
+ */
+public record GenerationReport(long seed, String output,
+                               long locations, long restaurants, long wantToTry, long visits,
+                               long ratings, long experiences, long dishes,
+                               long elapsedMillis) {
+
+    public long totalRows() {
+        return locations + restaurants + wantToTry + visits + ratings + experiences + dishes;
+    }
+
+    public double rowsPerSecond() {
+        return elapsedMillis == 0 ? totalRows() : totalRows() * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.restaurant.generator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command-line data generation: generates once at startup and exits.
+ *
+ *   java -jar restaurant.jar --spring.main.web-application-type=none \
+ *        --restaurant.generate.restaurants=1000000 [--restaurant.generate.visits-per-restaurant=3] \
+ *        [--restaurant.generate.seed=42] [--restaurant.generate.output=/tmp/restaurant-data]
+ *
+ * Without output the rows are inserted into the configured database; with it, .tsv files and a
+ * load.sql for mysql --local-infile=1 are written there instead.
+ */
+@Component
+@ConditionalOnProperty(name = "restaurant.generate.restaurants")
+public class GeneratorRunner implements ApplicationRunner {
+
+    private final DataGenerator generator;
+    private final ConfigurableApplicationContext context;
+    private final int restaurants;
+    private final double visitsPerRestaurant;
+    private final long seed;
+    private final String output;
+
+    public GeneratorRunner(DataGenerator generator, ConfigurableApplicationContext context,
+                           @Value("${restaurant.generate.restaurants}") int restaurants,
+                           @Value("${restaurant.generate.visits-per-restaurant:3}") double visitsPerRestaurant,
+                           @Value("${restaurant.generate.seed:42}") long seed,
+                           @Value("${restaurant.generate.output:}") String output) {
+        this.generator = generator;
+        this.context = context;
+        this.restaurants = restaurants;
+        this.visitsPerRestaurant = visitsPerRestaurant;
+        this.seed = seed;
+        this.output = output;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        GenerationReport report = generator.generate(seed, restaurants, visitsPerRestaurant,
+                output.isBlank() ? null : Path.of(output));
+        System.out.printf("Generated %d rows (seed %d) %s in %d ms (%.0f rows/s)%n", report.totalRows(), report.seed(),
+                report.output() == null ? "into the database" : "to " + report.output(),
+                report.elapsedMillis(), report.rowsPerSecond());
+        System.out.printf("  %d locations, %d restaurants, %d want-to-try, %d visits, %d ratings, %d experiences, %d dishes%n",
+                report.locations(), report.restaurants(), report.wantToTry(), report.visits(),
+                report.ratings(), report.experiences(), report.dishes());
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
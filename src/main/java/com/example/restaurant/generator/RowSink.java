@@ -0,0 +1,18 @@
+package com.example.restaurant.generator;
+
+import java.io.IOException;
+
+/**
+ * Where generated rows go. Rows of a parent table are always handed over before the child rows
+ * that reference them; a sink that buffers must write tables in GeneratedTable order.
+ */
+interface RowSink extends AutoCloseable {
+
+    void add(GeneratedTable table, Object... row) throws IOException;
+
+    // Everything added so far is written (or at least handed to the database/file)
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,145 @@
+package com.example.restaurant.generator;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Word lists and text builders for DataGenerator. Lists are ordered most common first, which is
+ * what the Zipf samplers over them expect.
+ */
+final class SampleText {
+
+    private SampleText() {
+    }
+
+    record City(String name, String state, double latitude, double longitude) {
+    }
+
+    // Roughly by population
+    static final City[] CITIES = {
+        new City("New York", "NY", 40.7128, -74.0060),
+        new City("Los Angeles", "CA", 34.0522, -118.2437),
+        new City("Chicago", "IL", 41.8781, -87.6298),
+        new City("Houston", "TX", 29.7604, -95.3698),
+        new City("Phoenix", "AZ", 33.4484, -112.0740),
+        new City("Philadelphia", "PA", 39.9526, -75.1652),
+        new City("San Antonio", "TX", 29.4241, -98.4936),
+        new City("San Diego", "CA", 32.7157, -117.1611),
+        new City("Dallas", "TX", 32.7767, -96.7970),
+        new City("San Jose", "CA", 37.3382, -121.8863),
+        new City("Austin", "TX", 30.2672, -97.7431),
+        new City("Jacksonville", "FL", 30.3322, -81.6557),
+        new City("Fort Worth", "TX", 32.7555, -97.3308),
+        new City("Columbus", "OH", 39.9612, -82.9988),
+        new City("Charlotte", "NC", 35.2271, -80.8431),
+        new City("San Francisco", "CA", 37.7749, -122.4194),
+        new City("Indianapolis", "IN", 39.7684, -86.1581),
+        new City("Seattle", "WA", 47.6062, -122.3321),
+        new City("Denver", "CO", 39.7392, -104.9903),
+        new City("Washington", "DC", 38.9072, -77.0369),
+        new City("Boston", "MA", 42.3601, -71.0589),
+        new City("Nashville", "TN", 36.1627, -86.7816),
+        new City("Detroit", "MI", 42.3314, -83.0458),
+        new City("Portland", "OR", 45.5152, -122.6784),
+        new City("Las Vegas", "NV", 36.1699, -115.1398),
+        new City("Memphis", "TN", 35.1495, -90.0490),
+        new City("Louisville", "KY", 38.2527, -85.7585),
+        new City("Baltimore", "MD", 39.2904, -76.6122),
+        new City("Milwaukee", "WI", 43.0389, -87.9065),
+        new City("Albuquerque", "NM", 35.0844, -106.6504),
+        new City("Tucson", "AZ", 32.2226, -110.9747),
+        new City("Sacramento", "CA", 38.5816, -121.4944),
+        new City("Kansas City", "MO", 39.0997, -94.5786),
+        new City("Atlanta", "GA", 33.7490, -84.3880),
+        new City("Miami", "FL", 25.7617, -80.1918),
+        new City("Raleigh", "NC", 35.7796, -78.6382),
+        new City("Omaha", "NE", 41.2565, -95.9345),
+        new City("Minneapolis", "MN", 44.9778, -93.2650),
+        new City("New Orleans", "LA", 29.9511, -90.0715),
+        new City("Pittsburgh", "PA", 40.4406, -79.9959),
+    };
+
+    static final String[] CUISINES = {
+        "American", "Mexican", "Italian", "Chinese", "Japanese", "Pizza", "BBQ", "Thai", "Indian", "Seafood",
+        "Mediterranean", "Vietnamese", "Korean", "Southern", "French", "Greek", "Middle Eastern", "Spanish",
+        "Caribbean", "Ethiopian", "Peruvian", "Filipino", "Cajun", "Brazilian"
+    };
+
+    static final String[] TYPES = {"Casual", "Fast Casual", "Fine Dining", "Cafe", "Diner", "Bar", "Food Truck", "Bakery"};
+
+    private static final String[] ADJECTIVES = {
+        "Golden", "Little", "Blue", "Red", "Old", "Lucky", "Rustic", "Copper", "Silver", "Green", "Smoky", "Happy",
+        "Urban", "Wild", "Corner", "Hidden", "Twin", "Salty", "Sunny", "Midnight"
+    };
+
+    private static final String[] NOUNS = {
+        "Spoon", "Table", "Kitchen", "Oak", "Lantern", "Fork", "Garden", "Harbor", "Ember", "Hearth", "Pepper",
+        "Olive", "Dragon", "Anchor", "Barrel", "Market", "Porch", "Skillet", "Vine", "Crow"
+    };
+
+    private static final String[] SURNAMES = {
+        "Rossi", "Garcia", "Nguyen", "Kim", "Patel", "Murphy", "Chen", "Lopez", "Tanaka", "Okafor", "Silva", "Cohen"
+    };
+
+    private static final String[] VENUES = {"Grill", "Cafe", "Bistro", "Kitchen", "Diner", "Cantina", "Trattoria", "House", "Eatery"};
+
+    private static final Map<String, String[]> DISHES = Map.of(
+        "American", new String[] {"Cheeseburger", "Fried Chicken", "Mac and Cheese", "Club Sandwich", "Cobb Salad", "Meatloaf"},
+        "Mexican", new String[] {"Carnitas Tacos", "Chicken Enchiladas", "Carne Asada", "Elote", "Pozole", "Chiles Rellenos"},
+        "Italian", new String[] {"Cacio e Pepe", "Lasagna", "Chicken Parmesan", "Risotto", "Tiramisu", "Gnocchi"},
+        "Chinese", new String[] {"Kung Pao Chicken", "Mapo Tofu", "Soup Dumplings", "Peking Duck", "Chow Mein", "Char Siu"},
+        "Japanese", new String[] {"Tonkotsu Ramen", "Salmon Nigiri", "Chicken Katsu", "Okonomiyaki", "Udon", "Gyoza"},
+        "Pizza", new String[] {"Margherita", "Pepperoni Pie", "Deep Dish", "White Pie", "Sausage and Peppers", "Garlic Knots"},
+        "BBQ", new String[] {"Brisket", "Pulled Pork", "Burnt Ends", "Smoked Ribs", "Hot Links", "Smoked Turkey"},
+        "Thai", new String[] {"Pad Thai", "Green Curry", "Tom Yum", "Pad See Ew", "Larb", "Khao Soi"},
+        "Indian", new String[] {"Butter Chicken", "Lamb Vindaloo", "Palak Paneer", "Chana Masala", "Biryani", "Garlic Naan"}
+    );
+
+    private static final String[] GENERIC_DISHES = {
+        "House Special", "Chef's Plate", "Grilled Fish", "Seasonal Salad", "Braised Short Rib", "Vegetable Stew",
+        "Roast Chicken", "Daily Soup", "Flatbread", "Rice Bowl"
+    };
+
+    private static final String[] WORDS = {
+        "the", "food", "was", "really", "and", "service", "great", "we", "ordered", "a", "with", "for", "but",
+        "table", "flavor", "fresh", "spicy", "crispy", "tender", "sauce", "portion", "friendly", "slow", "loud",
+        "cozy", "price", "worth", "again", "dessert", "perfectly", "seasoned", "bland", "amazing", "server",
+        "wait", "reservation", "patio", "cocktails", "wine", "bread", "noodles", "broth", "smoky", "sweet",
+        "salty", "rich", "light", "generous", "small", "overcooked", "balanced", "authentic", "creative", "menu",
+        "atmosphere", "music", "dinner", "lunch", "brunch", "friends", "family", "date", "night", "busy",
+        "quiet", "recommend", "favorite", "definitely", "coming", "back", "highlight", "texture", "aroma"
+    };
+
+    static String restaurantName(Random random, String cuisine) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "The " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS);
+            case 1 -> pick(random, SURNAMES) + "'s " + pick(random, VENUES);
+            case 2 -> pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " " + cuisine + " " + pick(random, VENUES);
+            default -> pick(random, NOUNS) + " & " + pick(random, NOUNS);
+        };
+    }
+
+    static String dishName(Random random, String cuisine) {
+        String[] dishes = DISHES.getOrDefault(cuisine, GENERIC_DISHES);
+        return random.nextInt(4) == 0 ? pick(random, ADJECTIVES) + " " + pick(random, dishes) : pick(random, dishes);
+    }
+
+    // Sentences of random words; length is log-normal around medianWords, capped at maxWords
+    static String text(Random random, int medianWords, double sigma, int maxWords) {
+        int words = (int) Math.max(3, Math.min(maxWords, Math.round(medianWords * Math.exp(sigma * random.nextGaussian()))));
+        StringBuilder b = new StringBuilder(words * 7);
+        boolean sentenceStart = true;
+        for (int i = 0; i < words; i++) {
+            String w = pick(random, WORDS);
+            if (i > 0) b.append(' ');
+            b.append(sentenceStart ? Character.toUpperCase(w.charAt(0)) + w.substring(1) : w);
+            sentenceStart = random.nextInt(10) == 0 || i == words - 1;
+            if (sentenceStart) b.append('.');
+        }
+        return b.toString();
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
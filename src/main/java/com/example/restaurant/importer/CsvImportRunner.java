@@ -0,0 +1,61 @@
+package com.example.restaurant.importer;
+
+import com.example.restaurant.dto.ImportReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: runs one CSV import at startup and exits (status 0 if it completed).
+ *
+ *   java -jar restaurant.jar --spring.main.web-application-type=none \
+ *        --restaurant.import.file=chicago.csv [--restaurant.import.job=chicago-2026]
+ *
+ * The job name defaults to the file name; re-run with the same job to resume after a failure.
+ */
+@Component
+@ConditionalOnProperty(name = "restaurant.import.file")
+public class CsvImportRunner implements ApplicationRunner {
+
+    private final CsvImporter importer;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String job;
+
+    public CsvImportRunner(CsvImporter importer, ConfigurableApplicationContext context,
+                           @Value("${restaurant.import.file}") String file,
+                           @Value("${restaurant.import.job:}") String job) {
+        this.importer = importer;
+        this.context = context;
+        this.file = Path.of(file);
+        this.job = job.isBlank() ? this.file.getFileName().toString() : job;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        ImportReport report;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            report = importer.importCsv(reader, job);
+        }
+        System.out.printf("Import %s: %s%n", report.job(), report.completed() ? "completed" : "FAILED - " + report.failure());
+        System.out.printf("  %d records (%.0f records/s), %d already imported by an earlier run%n",
+                report.recordsImported(), report.recordsPerSecond(), report.recordsAlreadyDone());
+        System.out.printf("  %d restaurants, %d visits, %d ratings, %d experiences, %d dishes%n",
+                report.restaurants(), report.visits(), report.ratings(), report.experiences(), report.dishes());
+        System.out.printf("  %d restaurants rejected%n", report.rejectedRestaurants());
+        report.errors().forEach(e -> System.out.println("  " + e));
+
+        int status = report.completed() ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
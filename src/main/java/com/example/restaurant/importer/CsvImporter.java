@@ -0,0 +1,375 @@
+package com.example.restaurant.importer;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.ImportReport;
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.Experience;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.ImportProgress;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Rating;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.repository.ImportProgressRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CsvImporter
+ *
+ * Bulk-loads restaurants and their visit history from the CSV format described in
+ * ImportFileParser. The calling thread parses the input incrementally and hands batches of
+ * whole restaurant groups (about batchRecords records each) to a small pool of writer threads
+ * through a bounded queue, so parsing overlaps with database writes and memory stays bounded
+ * however large the file is.
+ *
+ * Each batch is one transaction written through BusinessManager, with Hibernate's JDBC
+ * batching doing the inserts. Locations are resolved through an in-memory (city, state) map
+ * loaded once per run; unknown ones are created on first use.
+ *
+ * Progress: every batch stores its record range in import_progress inside its own transaction.
+ * Re-running a job after a failure skips the groups those ranges cover and imports the rest,
+ * so nothing is written twice. Throughput (records/s) is logged while running and reported.
+ */
+@Service
+public class CsvImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CsvImporter.class);
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int MAX_JOB_NAME = 200;
+
+    private final BusinessManager bm;
+    private final ImportProgressRepository progressRepo;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final int batchRecords;
+    private final int queueCapacity;
+    private final int writers;
+    private final Set<String> runningJobs = ConcurrentHashMap.newKeySet();
+
+    public CsvImporter(BusinessManager bm, ImportProgressRepository progressRepo, EntityManager em,
+                       PlatformTransactionManager txManager,
+                       @Value("${restaurant.import.batch-records:1000}") int batchRecords,
+                       @Value("${restaurant.import.queue-capacity:4}") int queueCapacity,
+                       @Value("${restaurant.import.writers:2}") int writers) {
+        this.bm = bm;
+        this.progressRepo = progressRepo;
+        this.em = em;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchRecords = Math.max(1, batchRecords);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.writers = Math.max(1, writers);
+    }
+
+    /**
+     * Imports everything in source under the given job name. Re-running a job that failed
+     * resumes it; re-running a job that completed imports nothing.
+     *
+     * @throws IllegalArgumentException if the job name is blank or too long
+     * @throws IllegalStateException    if the same job is already running
+     */
+    public ImportReport importCsv(Reader source, String jobName) {
+        if (jobName == null || jobName.isBlank() || jobName.length() > MAX_JOB_NAME) {
+            throw new IllegalArgumentException("Import job name must be 1-" + MAX_JOB_NAME + " characters");
+        }
+        if (!runningJobs.add(jobName)) {
+            throw new IllegalStateException("Import job '" + jobName + "' is already running");
+        }
+        try {
+            return run(source, jobName);
+        } finally {
+            runningJobs.remove(jobName);
+        }
+    }
+
+    private ImportReport run(Reader source, String jobName) {
+        Run run = new Run(jobName, committedRanges(jobName), knownLocations());
+        BlockingQueue<ImportBatch> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(writers,
+                r -> new Thread(r, "csv-import-writer-" + threadNo.incrementAndGet()));
+        for (int i = 0; i < writers; i++) {
+            pool.execute(() -> writeLoop(queue, run));
+        }
+
+        try (CsvRecordReader reader = new CsvRecordReader(source)) {
+            produce(new ImportFileParser(reader, run::error), queue, run);
+        } catch (IOException | RuntimeException e) {
+            run.fail(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.fail(e);
+        } finally {
+            // Writers keep draining after a failure, so these puts cannot block for long
+            for (int i = 0; i < writers; i++) {
+                putUninterruptibly(queue, ImportBatch.END);
+            }
+            pool.shutdown();
+            awaitUninterruptibly(pool);
+        }
+        ImportReport report = run.report();
+        log.info("Import {} {}: {} records in {} ms ({} records/s)", jobName,
+                report.completed() ? "completed" : "failed", report.recordsImported(),
+                report.elapsedMillis(), Math.round(report.recordsPerSecond()));
+        return report;
+    }
+
+    private void produce(ImportFileParser parser, BlockingQueue<ImportBatch> queue, Run run)
+            throws IOException, InterruptedException {
+        List<RestaurantGroup> groups = new ArrayList<>();
+        long records = 0;
+        RestaurantGroup group;
+        while (!run.failed() && (group = parser.nextGroup()) != null) {
+            if (run.alreadyCommitted(group)) {
+                run.recordsAlreadyDone.addAndGet(group.recordCount());
+                continue;
+            }
+            if (group.error != null) {
+                run.reject(group.error);
+                continue;
+            }
+            groups.add(group);
+            records += group.recordCount();
+            if (records >= batchRecords) {
+                queue.put(new ImportBatch(groups));
+                groups = new ArrayList<>();
+                records = 0;
+            }
+        }
+        if (!groups.isEmpty() && !run.failed()) {
+            queue.put(new ImportBatch(groups));
+        }
+    }
+
+    private void writeLoop(BlockingQueue<ImportBatch> queue, Run run) {
+        while (true) {
+            ImportBatch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                run.fail(e);
+                return;
+            }
+            if (batch == ImportBatch.END) return;
+            if (run.failed()) continue;
+            try {
+                write(batch, run);
+            } catch (RuntimeException e) {
+                run.fail(e);
+            }
+        }
+    }
+
+    private void write(ImportBatch batch, Run run) {
+        // Resolve locations first (new ones commit on their own), so a bad state rejects only its group
+        List<RestaurantGroup> accepted = new ArrayList<>(batch.groups().size());
+        for (RestaurantGroup g : batch.groups()) {
+            try {
+                g.locationId = run.locationId(g.city, g.state);
+                accepted.add(g);
+            } catch (IllegalArgumentException e) {
+                run.reject("Record " + g.firstRecord + ": " + e.getMessage());
+            }
+        }
+
+        tx.executeWithoutResult(status -> {
+            for (RestaurantGroup g : accepted) {
+                write(g);
+            }
+            progressRepo.save(new ImportProgress(run.jobName, batch.firstRecord(), batch.lastRecord()));
+            em.flush();
+            em.clear();
+        });
+        run.committed(accepted, batch.recordCount());
+    }
+
+    private void write(RestaurantGroup g) {
+        Restaurant r = g.restaurant;
+        r.setLocation(bm.findLocationById(g.locationId));
+        Restaurant saved = bm.createRestaurant(r);
+        for (RestaurantGroup.Visit v : g.visits) {
+            HaveTried h = v.haveTried;
+            h.setRestaurant(saved);
+            bm.createHaveTried(h);
+            for (Rating rating : v.ratings) bm.createRating(rating);
+            for (Experience e : v.experiences) bm.createExperience(e);
+            for (Dish d : v.dishes) bm.createDish(d);
+        }
+    }
+
+    private Location createLocation(String city, String state) {
+        return tx.execute(status -> bm.createLocation(new Location(null, city, state)));
+    }
+
+    private NavigableMap<Long, Long> committedRanges(String jobName) {
+        NavigableMap<Long, Long> ranges = new TreeMap<>();
+        for (ImportProgress p : progressRepo.findByJobNameOrderByFirstRecordAsc(jobName)) {
+            ranges.put(p.getFirstRecord(), p.getLastRecord());
+        }
+        return ranges;
+    }
+
+    private Map<String, Integer> knownLocations() {
+        Map<String, Integer> locations = new ConcurrentHashMap<>();
+        for (Location l : bm.findAllLocations()) {
+            locations.putIfAbsent(locationKey(l.getCity(), l.getState()), l.getId());
+        }
+        return locations;
+    }
+
+    // MySQL compares city/state case-insensitively, so the map does too
+    private static String locationKey(String city, String state) {
+        return city.trim().toLowerCase(Locale.ROOT) + '|' + state.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static void putUninterruptibly(BlockingQueue<ImportBatch> queue, ImportBatch batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    private static void awaitUninterruptibly(ExecutorService pool) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (pool.awaitTermination(1, TimeUnit.MINUTES)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // State of one import run, shared by the reading thread and the writers
+    private final class Run {
+        final String jobName;
+        final NavigableMap<Long, Long> committedRanges;
+        final Map<String, Integer> locations;
+        final Map<String, Object> locationLocks = new ConcurrentHashMap<>();
+        final long startNanos = System.nanoTime();
+        final AtomicLong lastLogNanos = new AtomicLong(startNanos);
+        final AtomicLong records = new AtomicLong();
+        final AtomicLong recordsAlreadyDone = new AtomicLong();
+        final AtomicLong restaurants = new AtomicLong();
+        final AtomicLong visits = new AtomicLong();
+        final AtomicLong ratings = new AtomicLong();
+        final AtomicLong experiences = new AtomicLong();
+        final AtomicLong dishes = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Run(String jobName, NavigableMap<Long, Long> committedRanges, Map<String, Integer> locations) {
+            this.jobName = jobName;
+            this.committedRanges = committedRanges;
+            this.locations = locations;
+        }
+
+        boolean alreadyCommitted(RestaurantGroup g) {
+            Map.Entry<Long, Long> range = committedRanges.floorEntry(g.firstRecord);
+            return range != null && g.firstRecord <= range.getValue();
+        }
+
+        // A new location is created under a lock of its own key, not inside computeIfAbsent, which would
+        // hold the map bin (and every writer whose key hashes there) while the insert commits
+        Integer locationId(String city, String state) {
+            String key = locationKey(city, state);
+            Integer id = locations.get(key);
+            if (id != null) return id;
+            synchronized (locationLocks.computeIfAbsent(key, k -> new Object())) {
+                id = locations.get(key);
+                if (id == null) {
+                    id = createLocation(city, state).getId();
+                    locations.put(key, id);
+                }
+                return id;
+            }
+        }
+
+        void error(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(message);
+        }
+
+        void reject(String message) {
+            rejected.incrementAndGet();
+            error(message);
+        }
+
+        void fail(Throwable t) {
+            if (failure.compareAndSet(null, t)) {
+                log.warn("Import {} stopped; re-run the same job to resume", jobName, t);
+            }
+        }
+
+        boolean failed() {
+            return failure.get() != null;
+        }
+
+        void committed(List<RestaurantGroup> groups, long recordCount) {
+            long total = records.addAndGet(recordCount);
+            restaurants.addAndGet(groups.size());
+            for (RestaurantGroup g : groups) {
+                visits.addAndGet(g.visits.size());
+                for (RestaurantGroup.Visit v : g.visits) {
+                    ratings.addAndGet(v.ratings.size());
+                    experiences.addAndGet(v.experiences.size());
+                    dishes.addAndGet(v.dishes.size());
+                }
+            }
+            long now = System.nanoTime();
+            long last = lastLogNanos.get();
+            if (now - last >= PROGRESS_LOG_INTERVAL_NANOS && lastLogNanos.compareAndSet(last, now)) {
+                log.info("Import {}: {} records, {} restaurants ({} records/s)", jobName, total,
+                        restaurants.get(), Math.round(perSecond(total, now - startNanos)));
+            }
+        }
+
+        ImportReport report() {
+            long elapsed = System.nanoTime() - startNanos;
+            Throwable t = failure.get();
+            return new ImportReport(jobName, t == null,
+                    records.get(), recordsAlreadyDone.get(),
+                    restaurants.get(), visits.get(), ratings.get(), experiences.get(), dishes.get(),
+                    rejected.get(), List.copyOf(errors),
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), perSecond(records.get(), elapsed),
+                    t == null ? null : String.valueOf(t.getMessage()));
+        }
+
+        private static double perSecond(long count, long nanos) {
+            return nanos <= 0 ? 0.0 : count * 1e9 / nanos;
+        }
+    }
+}
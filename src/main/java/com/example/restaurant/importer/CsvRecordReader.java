@@ -0,0 +1,108 @@
+package com.example.restaurant.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental RFC 4180 reader: returns one record at a time, so input of any size is parsed in
+ * constant memory. Quoted fields may contain commas, doubled quotes and line breaks. Blank lines
+ * and lines starting with '#' are skipped and not counted as records.
+ */
+final class CsvRecordReader implements Closeable {
+
+    private final Reader in;
+    private int pushback = -2;
+    private long recordNumber;
+
+    CsvRecordReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, 64 * 1024);
+    }
+
+    // 1-based number of the record most recently returned by next()
+    long recordNumber() {
+        return recordNumber;
+    }
+
+    /** Next record's fields, or null at end of input. */
+    List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) return null;
+            if (c == '\r' || c == '\n') continue;
+            if (c == '#') {
+                skipLine();
+                continue;
+            }
+            unread(c);
+            List<String> fields = readRecord();
+            recordNumber++;
+            return fields;
+        }
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(n);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') unread(n);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && c != '\n' && c != '\r');
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
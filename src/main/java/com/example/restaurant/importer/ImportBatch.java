@@ -0,0 +1,24 @@
+package com.example.restaurant.importer;
+
+import java.util.List;
+
+/**
+ * Consecutive restaurant groups written in one transaction. The empty END batch tells a
+ * writer the input is exhausted.
+ */
+record ImportBatch(List<RestaurantGroup> groups) {
+
+    static final ImportBatch END = new ImportBatch(List.of());
+
+    long firstRecord() {
+        return groups.get(0).firstRecord;
+    }
+
+    long lastRecord() {
+        return groups.get(groups.size() - 1).lastRecord;
+    }
+
+    long recordCount() {
+        return groups.stream().mapToLong(RestaurantGroup::recordCount).sum();
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.restaurant.importer;
+
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.Experience;
+import com.example.restaurant.model.Rating;
+import com.example.restaurant.model.Restaurant;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Turns the import file into restaurant groups. Each record's first field is its type; child
+ * records belong to the closest restaurant (R) or visit (V) above them:
+ *
+ *   R,restaurant_name,city,state,type,cuisine[,latitude,longitude]
+ *   V
+ *   RT,food_rating,vibe_rating,rating_description
+ *   E,date (yyyy-MM-dd),description
+ *   D,dish_name,food_description
+ *
+ * A bad record rejects its whole restaurant group (reported with the record number); records
+ * that appear before any restaurant are reported and dropped.
+ */
+final class ImportFileParser {
+
+    private final CsvRecordReader reader;
+    private final Consumer<String> errors;
+    private List<String> lookahead;
+
+    ImportFileParser(CsvRecordReader reader, Consumer<String> errors) {
+        this.reader = reader;
+        this.errors = errors;
+    }
+
+    /** Next restaurant and everything under it, or null at end of input. */
+    RestaurantGroup nextGroup() throws IOException {
+        List<String> rec = take();
+        while (rec != null && !isType(rec, "R")) {
+            errors.accept("Record " + reader.recordNumber() + ": '" + rec.get(0) + "' outside a restaurant");
+            rec = take();
+        }
+        if (rec == null) return null;
+
+        RestaurantGroup group = restaurant(rec, reader.recordNumber());
+        RestaurantGroup.Visit visit = null;
+        while ((rec = take()) != null) {
+            if (isType(rec, "R")) {
+                lookahead = rec;
+                break;
+            }
+            group.lastRecord = reader.recordNumber();
+            if (group.error != null) continue;
+            try {
+                String type = rec.get(0).trim().toUpperCase(Locale.ROOT);
+                if (type.equals("V")) {
+                    visit = new RestaurantGroup.Visit();
+                    group.visits.add(visit);
+                    continue;
+                }
+                if (visit == null) throw new IllegalArgumentException("'" + type + "' before any visit (V)");
+                switch (type) {
+                    case "RT" -> visit.ratings.add(new Rating(null, visit.haveTried,
+                            score(rec, 1, "food_rating"), score(rec, 2, "vibe_rating"), optional(rec, 3)));
+                    case "E" -> visit.experiences.add(new Experience(null, visit.haveTried,
+                            date(rec, 1), optional(rec, 2)));
+                    case "D" -> visit.dishes.add(new Dish(null, visit.haveTried,
+                            required(rec, 1, "dish_name"), optional(rec, 2)));
+                    default -> throw new IllegalArgumentException("unknown record type '" + type + "'");
+                }
+            } catch (IllegalArgumentException e) {
+                group.error = "Record " + reader.recordNumber() + ": " + e.getMessage();
+            }
+        }
+        return group;
+    }
+
+    private RestaurantGroup restaurant(List<String> rec, long recordNumber) {
+        try {
+            Restaurant r = new Restaurant(null, required(rec, 1, "restaurant_name"), null,
+                    optional(rec, 4), optional(rec, 5));
+            r.setLatitude(coordinate(rec, 6, "latitude", 90));
+            r.setLongitude(coordinate(rec, 7, "longitude", 180));
+            if ((r.getLatitude() == null) != (r.getLongitude() == null)) {
+                throw new IllegalArgumentException("latitude and longitude must be given together");
+            }
+            return new RestaurantGroup(recordNumber, required(rec, 2, "city"), required(rec, 3, "state"), r);
+        } catch (IllegalArgumentException e) {
+            RestaurantGroup rejected = new RestaurantGroup(recordNumber, null, null, null);
+            rejected.error = "Record " + recordNumber + ": " + e.getMessage();
+            return rejected;
+        }
+    }
+
+    private List<String> take() throws IOException {
+        if (lookahead != null) {
+            List<String> rec = lookahead;
+            lookahead = null;
+            return rec;
+        }
+        return reader.next();
+    }
+
+    private static boolean isType(List<String> rec, String type) {
+        return rec.get(0).trim().equalsIgnoreCase(type);
+    }
+
+    private static String optional(List<String> rec, int i) {
+        if (i >= rec.size()) return null;
+        String v = rec.get(i).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static String required(List<String> rec, int i, String name) {
+        String v = optional(rec, i);
+        if (v == null) throw new IllegalArgumentException(name + " is required");
+        return v;
+    }
+
+    private static Integer score(List<String> rec, int i, String name) {
+        String v = required(rec, i, name);
+        try {
+            int n = Integer.parseInt(v);
+            if (n >= 1 && n <= 5) return n;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be 1-5, got '" + v + "'");
+    }
+
+    private static Double coordinate(List<String> rec, int i, String name, double max) {
+        String v = optional(rec, i);
+        if (v == null) return null;
+        try {
+            double d = Double.parseDouble(v);
+            if (d >= -max && d <= max) return d;
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new IllegalArgumentException(name + " must be between -" + (int) max + " and " + (int) max + ", got '" + v + "'");
+    }
+
+    private static LocalDate date(List<String> rec, int i) {
+        String v = required(rec, i, "date");
+        try {
+            return LocalDate.parse(v);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("date must be yyyy-MM-dd, got '" + v + "'");
+        }
+    }
+}
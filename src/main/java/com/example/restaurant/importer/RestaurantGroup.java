@@ -0,0 +1,45 @@
+package com.example.restaurant.importer;
+
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.Experience;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Rating;
+import com.example.restaurant.model.Restaurant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One restaurant from the import file with its visits and their ratings, experiences and
+ * dishes, as unsaved entities. A group is the unit the importer commits or rejects as a whole.
+ */
+final class RestaurantGroup {
+
+    final long firstRecord;
+    long lastRecord;
+    final String city;
+    final String state;
+    final Restaurant restaurant;
+    final List<Visit> visits = new ArrayList<>();
+    String error;   // first problem found in this group's records; the group is skipped if set
+    Integer locationId;
+
+    RestaurantGroup(long firstRecord, String city, String state, Restaurant restaurant) {
+        this.firstRecord = firstRecord;
+        this.lastRecord = firstRecord;
+        this.city = city;
+        this.state = state;
+        this.restaurant = restaurant;
+    }
+
+    long recordCount() {
+        return lastRecord - firstRecord + 1;
+    }
+
+    static final class Visit {
+        final HaveTried haveTried = new HaveTried();
+        final List<Rating> ratings = new ArrayList<>();
+        final List<Experience> experiences = new ArrayList<>();
+        final List<Dish> dishes = new ArrayList<>();
+    }
+}
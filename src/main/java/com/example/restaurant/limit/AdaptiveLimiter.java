@@ -0,0 +1,57 @@
+package com.example.restaurant.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking concurrency limit with additive-increase / multiplicative-decrease: a request that
+ * completes within the latency target while the limit is at least half used raises the limit by
+ * one; a slower one, or one that failed with a server error (e.g. a Hikari connection timeout),
+ * cuts it by 10%. The limit stays within [min, max]. Requests over the limit are not queued; the
+ * caller rejects them right away.
+ */
+final class AdaptiveLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    AdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, long targetNanos) {
+        if (minLimit < 1 || minLimit > maxLimit) throw new IllegalArgumentException("need 1 <= min <= max, got " + minLimit + ".." + maxLimit);
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /** Takes a slot if one is free; every true must be followed by one release. */
+    boolean tryAcquire() {
+        while (true) {
+            int n = inFlight.get();
+            if (n >= limit) return false;
+            if (inFlight.compareAndSet(n, n + 1)) return true;
+        }
+    }
+
+    void release(long nanos, boolean failed) {
+        int n = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || nanos > targetNanos) {
+                limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+            } else if (n * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
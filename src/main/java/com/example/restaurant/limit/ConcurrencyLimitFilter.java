@@ -0,0 +1,131 @@
+package com.example.restaurant.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkheads for /api: each RouteGroup (cheap reads, expensive reads, writes, bulk) has its own
+ * AdaptiveLimiter, so a burst of whole-table reads or exports can only use its own share of
+ * request threads and Hikari connections while single-row lookups keep going. A request over its
+ * group's limit is rejected at once with 429 and Retry-After instead of waiting for a thread or
+ * a connection.
+ *
+ * For async requests (NDJSON exports) the slot is held until the response completes. The SSE
+ * change stream is not limited.
+ *
+ * Metrics, tagged with group: restaurant.limiter.limit and restaurant.limiter.in.flight (gauges),
+ * restaurant.limiter.rejected (counter). Turned off with restaurant.limit.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "restaurant.limit.enabled", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<RouteGroup, AdaptiveLimiter> limiters = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejected = new EnumMap<>(RouteGroup.class);
+
+    public ConcurrencyLimitFilter(Environment env, MeterRegistry registry) {
+        for (RouteGroup group : RouteGroup.values()) {
+            String prefix = "restaurant.limit." + group.key() + ".";
+            AdaptiveLimiter limiter = new AdaptiveLimiter(
+                    env.getProperty(prefix + "initial", Integer.class, group.initialLimit),
+                    env.getProperty(prefix + "min", Integer.class, group.minLimit),
+                    env.getProperty(prefix + "max", Integer.class, group.maxLimit),
+                    env.getProperty(prefix + "target", Duration.class, group.latencyTarget).toNanos());
+            limiters.put(group, limiter);
+            Gauge.builder("restaurant.limiter.limit", limiter, AdaptiveLimiter::limit)
+                    .description("Current concurrency limit of the endpoint group")
+                    .tag("group", group.key())
+                    .register(registry);
+            Gauge.builder("restaurant.limiter.in.flight", limiter, AdaptiveLimiter::inFlight)
+                    .description("Requests of the endpoint group in progress")
+                    .tag("group", group.key())
+                    .register(registry);
+            rejected.put(group, Counter.builder("restaurant.limiter.rejected")
+                    .description("Requests rejected with 429 because the endpoint group was at its limit")
+                    .tag("group", group.key())
+                    .register(registry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The SSE change stream stays open for minutes but holds no thread or connection while idle
+        String path = path(request);
+        return !path.startsWith("/api/") || path.equals("/api/changes/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean paged = request.getParameter("limit") != null || request.getParameter("after") != null;
+        RouteGroup group = RouteGroup.of(request.getMethod(), path(request), paged);
+        AdaptiveLimiter limiter = limiters.get(group);
+        if (!limiter.tryAcquire()) {
+            rejected.get(group).increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(limiter, start));
+                async = true;
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            limiter.release(System.nanoTime() - start, true);
+            throw e;
+        }
+        if (!async) limiter.release(System.nanoTime() - start, response.getStatus() >= 500);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private record ReleaseOnComplete(AdaptiveLimiter limiter, long start) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            limiter.release(System.nanoTime() - start, response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows and releases the slot
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows and releases the slot
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
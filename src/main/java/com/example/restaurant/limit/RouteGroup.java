@@ -0,0 +1,70 @@
+package com.example.restaurant.limit;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Endpoint groups that get their own concurrency limit (see ConcurrencyLimitFilter), so a burst in
+ * one group cannot take the request threads and database connections the others need.
+ *
+ * Defaults are the starting limit, the range the adaptive limit moves in, and the latency above
+ * which a completed request counts as a sign of overload; each can be overridden with
+ * restaurant.limit.<group>.initial / min / max / target (e.g. restaurant.limit.expensive-read.max=8).
+ */
+public enum RouteGroup {
+
+    /** Single-row lookups, bounded keyset pages, autocomplete, nearby. */
+    CHEAP_READ(50, 10, 400, Duration.ofMillis(100)),
+
+    /** Whole-table lists, summaries pages (up to 10,000 rows), detail trees, leaderboards, search. */
+    EXPENSIVE_READ(8, 2, 16, Duration.ofSeconds(2)),
+
+    /** Single-entity creates, updates and deletes. */
+    WRITE(10, 2, 40, Duration.ofMillis(500)),
+
+    /** Batch writes, CSV import, NDJSON exports and stats rebuilds: long-running, so a small fixed limit. */
+    BULK(2, 2, 2, Duration.ofMinutes(30));
+
+    private static final Set<String> COLLECTIONS =
+            Set.of("locations", "restaurants", "wanttotry", "havetried", "ratings", "experiences", "dishes");
+
+    final int initialLimit;
+    final int minLimit;
+    final int maxLimit;
+    final Duration latencyTarget;
+
+    RouteGroup(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTarget = latencyTarget;
+    }
+
+    /** Property / metric tag name, e.g. "expensive-read". */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /**
+     * Group of an /api request. paged is whether the request has ?limit or ?after: without either,
+     * GET on a collection root (e.g. /api/ratings) is findAll and reads the whole table.
+     */
+    public static RouteGroup of(String method, String path, boolean paged) {
+        boolean read = method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS");
+        if (path.endsWith("/batch") || path.endsWith("/export") || path.endsWith("/rebuild")
+                || (!read && path.startsWith("/api/import"))) {
+            return BULK;
+        }
+        if (!read) return WRITE;
+        if (path.startsWith("/api/search") || path.endsWith("/full") || path.endsWith("/summaries")
+                || path.endsWith("/scorecards") || path.endsWith("/leaderboard") || path.contains("/by-")) {
+            return EXPENSIVE_READ;
+        }
+        String collection = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        if (!paged && collection.startsWith("/api/") && COLLECTIONS.contains(collection.substring(5))) {
+            return EXPENSIVE_READ;
+        }
+        return CHEAP_READ;
+    }
+}
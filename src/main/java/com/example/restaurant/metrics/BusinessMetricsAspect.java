@@ -0,0 +1,51 @@
+package com.example.restaurant.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public BusinessManager method (and the hand-written full-text search repository,
+ * which Spring Data's own repository metrics do not cover) as restaurant.business, tagged with
+ * class, method and exception ("none" on success).
+ *
+ * Runs outside the @Transactional advice, so a write's time includes its flush and commit.
+ * Calls one BusinessManager method makes to another are not proxied and count toward the
+ * outer call only. For the stream* methods only opening the stream is timed.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BusinessMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    public BusinessMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.example.restaurant.business.BusinessManager.*(..))"
+            + " || execution(public * com.example.restaurant.repository.FullTextSearchRepository.*(..))")
+    public Object time(ProceedingJoinPoint call) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return call.proceed();
+        } catch (Throwable t) {
+            exception = t.getClass().getSimpleName();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder("restaurant.business")
+                    .description("BusinessManager operation time")
+                    .tag("class", call.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", call.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+}
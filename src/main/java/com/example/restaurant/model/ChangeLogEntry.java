@@ -0,0 +1,43 @@
+package com.example.restaurant.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One committed change to a row of the seven entity tables, for GET /api/changes. seq is assigned
+ * by ChangeLog at commit, gap-free and in commit order, so it doubles as the client's sync token.
+ */
+@Entity
+@Table(name = "change_log")
+public class ChangeLogEntry {
+    @Id
+    private Long seq;
+
+    @Column(name = "entity")
+    private String entity;
+
+    @Column(name = "entity_id")
+    private Integer entityId;
+
+    @Column(name = "deleted")
+    private boolean deleted;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+
+    public ChangeLogEntry() {}
+
+    public ChangeLogEntry(long seq, String entity, Integer entityId, boolean deleted, LocalDateTime changedAt) {
+        this.seq = seq;
+        this.entity = entity;
+        this.entityId = entityId;
+        this.deleted = deleted;
+        this.changedAt = changedAt;
+    }
+
+    public Long getSeq() { return seq; }
+    public String getEntity() { return entity; }
+    public Integer getEntityId() { return entityId; }
+    public boolean isDeleted() { return deleted; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+}
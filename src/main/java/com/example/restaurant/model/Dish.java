@@ -2,6 +2,7 @@ package com.example.restaurant.model;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import java.util.ArrayList;
@@ -13,9 +14,15 @@ import java.util.List;
 @Table(name = "dish")
 public class Dish {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "dish_id")
+    @TableGenerator(name = "dish_id", table = "id_sequence", pkColumnName = "seq_name",
+            valueColumnName = "next_val", pkColumnValue = "dish", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "have_tried_id", nullable = false)
     private HaveTried haveTried;
@@ -37,6 +44,8 @@ public class Dish {
 
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
+    public int getVersion() { return version; }
+    public String versionChain() { return version + "." + haveTried.versionChain(); }
     public HaveTried getHaveTried() { return haveTried; }
     public void setHaveTried(HaveTried haveTried) { this.haveTried = haveTried; }
     public String getDishName() { return dishName; }
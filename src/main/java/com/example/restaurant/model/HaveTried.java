@@ -3,8 +3,11 @@ package com.example.restaurant.model;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,25 +17,41 @@ import java.util.List;
 @Table(name = "have_tried")
 public class HaveTried {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "have_tried_id")
+    @TableGenerator(name = "have_tried_id", table = "id_sequence", pkColumnName = "seq_name",
+            valueColumnName = "next_val", pkColumnValue = "have_tried", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
 
+    // SUBSELECT: touching one visit's collection loads it for every visit from the same query
     @OneToMany(mappedBy = "haveTried", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     @JsonIgnore
     private List<Rating> ratings = new ArrayList<>();
 
     @OneToMany(mappedBy = "haveTried", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     @JsonIgnore
     private List<Experience> experiences = new ArrayList<>();
 
     @OneToMany(mappedBy = "haveTried", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Fetch(FetchMode.SUBSELECT)
     @JsonIgnore
     private List<Dish> dishes = new ArrayList<>();
 
+    // Restaurant id as last read from / written to the database (see Rating for the same pattern)
+    @Transient
+    private Integer persistedRestaurantId;
+    @Transient
+    private boolean persisted;
+
     public HaveTried() {}
 
     public HaveTried(Integer id, Restaurant restaurant) {
@@ -42,6 +61,8 @@ public class HaveTried {
 
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
+    public int getVersion() { return version; }
+    public String versionChain() { return version + "." + restaurant.versionChain(); }
     public Restaurant getRestaurant() { return restaurant; }
     public void setRestaurant(Restaurant restaurant) { this.restaurant = restaurant; }
     public List<Rating> getRatings() { return ratings; }
@@ -50,4 +71,15 @@ public class HaveTried {
     public void setExperiences(List<Experience> experiences) { this.experiences = experiences; }
     public List<Dish> getDishes() { return dishes; }
     public void setDishes(List<Dish> dishes) { this.dishes = dishes; }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        persisted = true;
+        persistedRestaurantId = restaurant == null ? null : restaurant.getId();
+    }
+
+    public boolean hasPersistedState() { return persisted; }
+    public Integer persistedRestaurantId() { return persistedRestaurantId; }
 }
\ No newline at end of file
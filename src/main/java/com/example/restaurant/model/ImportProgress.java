@@ -0,0 +1,44 @@
+package com.example.restaurant.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One batch committed by the CSV importer: records firstRecord..lastRecord of the job's input
+ * are in the database. Written in the same transaction as the batch, so after a failure the
+ * job can be re-run and skips exactly the batches that made it.
+ */
+@Entity
+@Table(name = "import_progress")
+public class ImportProgress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name")
+    private String jobName;
+
+    @Column(name = "first_record")
+    private long firstRecord;
+
+    @Column(name = "last_record")
+    private long lastRecord;
+
+    @Column(name = "committed_at")
+    private LocalDateTime committedAt;
+
+    public ImportProgress() {}
+
+    public ImportProgress(String jobName, long firstRecord, long lastRecord) {
+        this.jobName = jobName;
+        this.firstRecord = firstRecord;
+        this.lastRecord = lastRecord;
+        this.committedAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public String getJobName() { return jobName; }
+    public long getFirstRecord() { return firstRecord; }
+    public long getLastRecord() { return lastRecord; }
+    public LocalDateTime getCommittedAt() { return committedAt; }
+}
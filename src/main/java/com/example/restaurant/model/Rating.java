@@ -2,6 +2,7 @@ package com.example.restaurant.model;
 
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import java.util.ArrayList;
@@ -13,9 +14,15 @@ import java.util.List;
 @Table(name = "rating")
 public class Rating {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "rating_id")
+    @TableGenerator(name = "rating_id", table = "id_sequence", pkColumnName = "seq_name",
+            valueColumnName = "next_val", pkColumnValue = "rating", allocationSize = 50)
     private Integer id;
 
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "have_tried_id", nullable = false)
     private HaveTried haveTried;
@@ -29,6 +36,17 @@ public class Rating {
     @Column(name = "rating_description")
     private String ratingDescription;
 
+    // Values as last read from / written to the database. Used to adjust restaurant_rating_stats
+    // when a loaded rating is modified, since the setters overwrite the old values.
+    @Transient
+    private Integer persistedHaveTriedId;
+    @Transient
+    private Integer persistedFoodRating;
+    @Transient
+    private Integer persistedVibeRating;
+    @Transient
+    private boolean persisted;
+
     public Rating() {}
 
     public Rating(Integer id, HaveTried haveTried, Integer foodRating, Integer vibeRating, String ratingDescription) {
@@ -41,6 +59,8 @@ public class Rating {
 
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
+    public int getVersion() { return version; }
+    public String versionChain() { return version + "." + haveTried.versionChain(); }
     public HaveTried getHaveTried() { return haveTried; }
     public void setHaveTried(HaveTried haveTried) { this.haveTried = haveTried; }
     public Integer getFoodRating() { return foodRating; }
@@ -49,4 +69,20 @@ public class Rating {
     public void setVibeRating(Integer vibeRating) { this.vibeRating = vibeRating; }
     public String getRatingDescription() { return ratingDescription; }
     public void setRatingDescription(String ratingDescription) { this.ratingDescription = ratingDescription; }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedState() {
+        persisted = true;
+        persistedHaveTriedId = haveTried == null ? null : haveTried.getId();
+        persistedFoodRating = foodRating;
+        persistedVibeRating = vibeRating;
+    }
+
+    // Snapshot accessors (not bean getters, so Jackson ignores them)
+    public boolean hasPersistedState() { return persisted; }
+    public Integer persistedHaveTriedId() { return persistedHaveTriedId; }
+    public Integer persistedFoodRating() { return persistedFoodRating; }
+    public Integer persistedVibeRating() { return persistedVibeRating; }
 }
\ No newline at end of file
@@ -3,20 +3,33 @@ package com.example.restaurant.model;
 import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id", scope = Restaurant.class)
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurant")
 @Table(name = "restaurant")
 public class Restaurant {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "restaurant_id")
+    @TableGenerator(name = "restaurant_id", table = "id_sequence", pkColumnName = "seq_name",
+            valueColumnName = "next_val", pkColumnValue = "restaurant", allocationSize = 50)
     private Integer id;
 
+    // Optimistic locking: Hibernate bumps it on every update and checks it in the UPDATE's WHERE clause,
+    // so a concurrent change fails instead of being overwritten. Leads the ETag of GET /api/restaurants/{id}.
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private int version;
+
     @Column(name = "restaurant_name")
     private String restaurantName;
 
@@ -27,6 +40,10 @@ public class Restaurant {
     private String type;
     private String cuisine;
 
+    // WGS84 degrees; both set or both null
+    private Double latitude;
+    private Double longitude;
+
     @OneToMany(mappedBy = "restaurant", fetch = FetchType.LAZY)
     @JsonIgnore
     private List<WantToTry> wantToTryList = new ArrayList<>();
@@ -47,6 +64,9 @@ public class Restaurant {
 
     public Integer getId() { return id; }
     public void setId(Integer id) { this.id = id; }
+    public int getVersion() { return version; }
+    // This row's version, then those of the parents serialized with it, e.g. "4.1"
+    public String versionChain() { return version + "." + location.versionChain(); }
     public String getRestaurantName() { return restaurantName; }
     public void setRestaurantName(String restaurantName) { this.restaurantName = restaurantName; }
     public Location getLocation() { return location; }
@@ -55,6 +75,10 @@ public class Restaurant {
     public void setType(String type) { this.type = type; }
     public String getCuisine() { return cuisine; }
     public void setCuisine(String cuisine) { this.cuisine = cuisine; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
     public List<WantToTry> getWantToTryList() { return wantToTryList; }
     public void setWantToTryList(List<WantToTry> wantToTryList) { this.wantToTryList = wantToTryList; }
     public List<HaveTried> getHaveTriedList() { return haveTriedList; }
@@ -0,0 +1,71 @@
+package com.example.restaurant.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Running rating aggregates for one restaurant (table restaurant_rating_stats).
+ *
+ * Rows are written only through native statements in RestaurantRatingStatsRepository
+ * (see business.RatingStatsMaintainer), so the entity is read-only on the JPA side.
+ */
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Immutable
+@Entity
+@Table(name = "restaurant_rating_stats")
+public class RestaurantRatingStats {
+    @Id
+    @Column(name = "restaurant_id")
+    private Integer restaurantId;
+
+    @Column(name = "rating_count")
+    private Integer ratingCount;
+
+    @Column(name = "food_sum")
+    private Integer foodSum;
+
+    @Column(name = "vibe_sum")
+    private Integer vibeSum;
+
+    @Column(name = "food_min")
+    private Integer foodMin;
+
+    @Column(name = "food_max")
+    private Integer foodMax;
+
+    @Column(name = "vibe_min")
+    private Integer vibeMin;
+
+    @Column(name = "vibe_max")
+    private Integer vibeMax;
+
+    public RestaurantRatingStats() {}
+
+    // Stats for a restaurant that has no ratings yet
+    public static RestaurantRatingStats empty(Integer restaurantId) {
+        RestaurantRatingStats s = new RestaurantRatingStats();
+        s.restaurantId = restaurantId;
+        s.ratingCount = 0;
+        s.foodSum = 0;
+        s.vibeSum = 0;
+        return s;
+    }
+
+    public Integer getRestaurantId() { return restaurantId; }
+    public Integer getRatingCount() { return ratingCount; }
+    public Integer getFoodSum() { return foodSum; }
+    public Integer getVibeSum() { return vibeSum; }
+    public Integer getFoodMin() { return foodMin; }
+    public Integer getFoodMax() { return foodMax; }
+    public Integer getVibeMin() { return vibeMin; }
+    public Integer getVibeMax() { return vibeMax; }
+
+    public Double getFoodAverage() {
+        return ratingCount == null || ratingCount == 0 ? null : (double) foodSum / ratingCount;
+    }
+
+    public Double getVibeAverage() {
+        return ratingCount == null || ratingCount == 0 ? null : (double) vibeSum / ratingCount;
+    }
+}
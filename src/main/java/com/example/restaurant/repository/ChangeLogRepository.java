@@ -0,0 +1,46 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.ChangeLogEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Change sequence numbers come from the 'change_log' row of id_sequence; the native statements
+    // declare that table so Hibernate keeps the second-level cache regions
+    String SEQUENCE_TABLE = "id_sequence";
+
+    /**
+     * Reserves count sequence numbers. The row stays locked until the transaction ends, so
+     * transactions get their numbers in commit order. Returns 0 if the row is missing.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEQUENCE_TABLE))
+    @Modifying
+    @Query(value = "UPDATE id_sequence SET next_val = next_val + :count WHERE seq_name = 'change_log'", nativeQuery = true)
+    int reserveSeqs(@Param("count") int count);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = SEQUENCE_TABLE))
+    @Query(value = "SELECT next_val FROM id_sequence WHERE seq_name = 'change_log'", nativeQuery = true)
+    long findNextSeq();
+
+    @Query("select coalesce(max(c.seq), 0) from ChangeLogEntry c")
+    long findLatestSeq();
+
+    List<ChangeLogEntry> findBySeqGreaterThanOrderBySeqAsc(long seq, Limit limit);
+
+    // Last seq of each of the given entities that has entries (idx_change_log_entity: one index dive each)
+    @Query("select max(c.seq) from ChangeLogEntry c where c.entity in :entities group by c.entity")
+    List<Long> findLatestSeqs(@Param("entities") Collection<String> entities);
+
+    @Query("select min(c.seq) from ChangeLogEntry c")
+    Long findOldestSeq();
+}
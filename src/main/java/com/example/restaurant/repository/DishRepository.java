@@ -1,10 +1,56 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.DishSummary;
 import com.example.restaurant.model.Dish;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DishRepository extends JpaRepository<Dish, Integer> {
+    @Query("select concat(str(x.version), '.', str(h.version), '.', str(r.version), '.', str(l.version))" +
+            " from Dish x join x.haveTried h join h.restaurant r join r.location l where x.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    // Entity reads fetch the parents that are serialized with them (see BusinessManager)
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    Optional<Dish> findWithParentsById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Dish> findAll();
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
     List<Dish> findByHaveTriedId(Integer haveTriedId);
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Dish> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Dish> findByIdIn(Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.DishSummary(x.id, x.haveTried.id, x.dishName, x.foodDescription)" +
+            " from Dish x where x.id > :afterId order by x.id")
+    List<DishSummary> findSummaries(@Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from Dish x where x.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    @Query("select x from Dish x join fetch x.haveTried h join fetch h.restaurant r join fetch r.location order by x.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Dish> streamAll();
 }
\ No newline at end of file
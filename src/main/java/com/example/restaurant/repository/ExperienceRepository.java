@@ -1,10 +1,56 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.ExperienceSummary;
 import com.example.restaurant.model.Experience;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ExperienceRepository extends JpaRepository<Experience, Integer> {
+    @Query("select concat(str(x.version), '.', str(h.version), '.', str(r.version), '.', str(l.version))" +
+            " from Experience x join x.haveTried h join h.restaurant r join r.location l where x.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    // Entity reads fetch the parents that are serialized with them (see BusinessManager)
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    Optional<Experience> findWithParentsById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Experience> findAll();
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
     List<Experience> findByHaveTriedId(Integer haveTriedId);
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Experience> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Experience> findByIdIn(Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.ExperienceSummary(x.id, x.haveTried.id, x.date, x.description)" +
+            " from Experience x where x.id > :afterId order by x.id")
+    List<ExperienceSummary> findSummaries(@Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from Experience x where x.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    @Query("select x from Experience x join fetch x.haveTried h join fetch h.restaurant r join fetch r.location order by x.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Experience> streamAll();
 }
@@ -0,0 +1,87 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.dto.SearchHit;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Relevance-ranked search over the FULLTEXT indexes in schema-mysql.sql (MySQL only).
+ *
+ * Each query ranks and pages a single table with MATCH ... AGAINST in a derived table, so InnoDB
+ * answers it from the full-text index, and only the rows on the requested page are joined to
+ * have_tried/restaurant for display. Natural language mode treats the search text as plain
+ * words: there is no operator syntax for users to get wrong, and words shorter than
+ * innodb_ft_min_token_size (default 3) or in the stopword list are ignored.
+ */
+@Repository
+public class FullTextSearchRepository {
+
+    private static final String PAGE = " ORDER BY score DESC, id LIMIT :limit OFFSET :offset) m";
+    private static final String VISIT_JOIN =
+            " JOIN have_tried h ON h.id = m.have_tried_id JOIN restaurant r ON r.id = h.restaurant_id";
+
+    private static final String RESTAURANTS =
+            "SELECT m.id, m.id, m.restaurant_name, m.restaurant_name, m.cuisine, m.score FROM (" +
+            " SELECT id, restaurant_name, cuisine," +
+            " MATCH(restaurant_name, cuisine, type) AGAINST (:q IN NATURAL LANGUAGE MODE) AS score" +
+            " FROM restaurant WHERE MATCH(restaurant_name, cuisine, type) AGAINST (:q IN NATURAL LANGUAGE MODE)" +
+            PAGE + " ORDER BY m.score DESC, m.id";
+
+    private static final String DISHES =
+            "SELECT m.id, r.id, r.restaurant_name, m.dish_name, m.food_description, m.score FROM (" +
+            " SELECT id, have_tried_id, dish_name, food_description," +
+            " MATCH(dish_name, food_description) AGAINST (:q IN NATURAL LANGUAGE MODE) AS score" +
+            " FROM dish WHERE MATCH(dish_name, food_description) AGAINST (:q IN NATURAL LANGUAGE MODE)" +
+            PAGE + VISIT_JOIN + " ORDER BY m.score DESC, m.id";
+
+    private static final String RATINGS =
+            "SELECT m.id, r.id, r.restaurant_name, NULL, m.rating_description, m.score FROM (" +
+            " SELECT id, have_tried_id, rating_description," +
+            " MATCH(rating_description) AGAINST (:q IN NATURAL LANGUAGE MODE) AS score" +
+            " FROM rating WHERE MATCH(rating_description) AGAINST (:q IN NATURAL LANGUAGE MODE)" +
+            PAGE + VISIT_JOIN + " ORDER BY m.score DESC, m.id";
+
+    private static final String EXPERIENCES =
+            "SELECT m.id, r.id, r.restaurant_name, NULL, m.description, m.score FROM (" +
+            " SELECT id, have_tried_id, description," +
+            " MATCH(description) AGAINST (:q IN NATURAL LANGUAGE MODE) AS score" +
+            " FROM experience WHERE MATCH(description) AGAINST (:q IN NATURAL LANGUAGE MODE)" +
+            PAGE + VISIT_JOIN + " ORDER BY m.score DESC, m.id";
+
+    private final EntityManager em;
+
+    public FullTextSearchRepository(EntityManager em) {
+        this.em = em;
+    }
+
+    public List<SearchHit> searchRestaurants(String q, int offset, int limit) {
+        return hits("restaurant", RESTAURANTS, q, offset, limit);
+    }
+
+    public List<SearchHit> searchDishes(String q, int offset, int limit) {
+        return hits("dish", DISHES, q, offset, limit);
+    }
+
+    public List<SearchHit> searchRatings(String q, int offset, int limit) {
+        return hits("rating", RATINGS, q, offset, limit);
+    }
+
+    public List<SearchHit> searchExperiences(String q, int offset, int limit) {
+        return hits("experience", EXPERIENCES, q, offset, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SearchHit> hits(String kind, String sql, String q, int offset, int limit) {
+        List<Object[]> rows = em.createNativeQuery(sql)
+                .setParameter("q", q)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new SearchHit(kind, ((Number) row[0]).intValue(), ((Number) row[1]).intValue(),
+                        (String) row[2], (String) row[3], (String) row[4], ((Number) row[5]).doubleValue()))
+                .toList();
+    }
+}
@@ -1,10 +1,80 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.HaveTriedSummary;
+import com.example.restaurant.dto.RestaurantScorecard;
 import com.example.restaurant.model.HaveTried;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface HaveTriedRepository extends JpaRepository<HaveTried, Integer> {
+    @Query("select concat(str(h.version), '.', str(r.version), '.', str(l.version))" +
+            " from HaveTried h join h.restaurant r join r.location l where h.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    // Entity reads fetch the parents that are serialized with them (see BusinessManager)
+    @EntityGraph(attributePaths = "restaurant.location")
+    Optional<HaveTried> findWithParentsById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "restaurant.location")
+    List<HaveTried> findAll();
+
+    @EntityGraph(attributePaths = "restaurant.location")
     List<HaveTried> findByRestaurantId(Integer restaurantId);
+
+    // Restaurant a visit belongs to, without loading the visit; null if the visit does not exist
+    @Query("select h.restaurant.id from HaveTried h where h.id = :id")
+    Integer findRestaurantIdById(@Param("id") Integer id);
+
+    // Same lookup for many visits at once: {visit id, restaurant id} pairs
+    @Query("select h.id, h.restaurant.id from HaveTried h where h.id in :ids")
+    List<Object[]> findRestaurantIdsByIds(@Param("ids") Collection<Integer> ids);
+
+    @EntityGraph(attributePaths = "restaurant.location")
+    List<HaveTried> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "restaurant.location")
+    List<HaveTried> findByIdIn(Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.HaveTriedSummary(h.id, r.id, r.restaurantName)" +
+            " from HaveTried h join h.restaurant r where h.id > :afterId order by h.id")
+    List<HaveTriedSummary> findSummaries(@Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from HaveTried h where h.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    @Query("select h from HaveTried h join fetch h.restaurant r join fetch r.location order by h.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<HaveTried> streamAll();
+
+    /**
+     * Visit and rating aggregates for the given restaurants in one grouped query.
+     * Restaurants without any visit produce no row. The last experience date comes from a
+     * correlated subquery so experiences do not multiply the rating rows being averaged.
+     */
+    @Query("select new com.example.restaurant.dto.RestaurantScorecard(" +
+            " h.restaurant.id, count(distinct h.id), count(r.id)," +
+            " avg(r.foodRating), min(r.foodRating), max(r.foodRating)," +
+            " avg(r.vibeRating), min(r.vibeRating), max(r.vibeRating)," +
+            " (select max(e.date) from Experience e where e.haveTried.restaurant.id = h.restaurant.id))" +
+            " from HaveTried h left join h.ratings r" +
+            " where h.restaurant.id in :restaurantIds" +
+            " group by h.restaurant.id")
+    List<RestaurantScorecard> findScorecards(@Param("restaurantIds") Collection<Integer> restaurantIds);
 }
@@ -0,0 +1,10 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.ImportProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ImportProgressRepository extends JpaRepository<ImportProgress, Long> {
+    List<ImportProgress> findByJobNameOrderByFirstRecordAsc(String jobName);
+}
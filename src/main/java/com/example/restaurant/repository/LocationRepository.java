@@ -1,8 +1,36 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.AutocompleteSuggestion;
 import com.example.restaurant.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface LocationRepository extends JpaRepository<Location, Integer> {
+    @Query("select str(l.version) from Location l where l.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Location findByCityAndState(String city, String state);
+
+    List<Location> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @Query("select new com.example.restaurant.dto.AutocompleteSuggestion('city', l.id, concat(l.city, ', ', l.state))" +
+            " from Location l where lower(l.city) like :pattern escape '!' order by lower(l.city), l.state, l.id")
+    List<AutocompleteSuggestion> findCitySuggestions(@Param("pattern") String pattern, Limit limit);
+
+    @Query("select l from Location l order by l.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Location> streamAll();
 }
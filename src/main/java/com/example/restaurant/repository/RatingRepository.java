@@ -1,10 +1,67 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.RatingSummary;
 import com.example.restaurant.model.Rating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RatingRepository extends JpaRepository<Rating, Integer> {
+    @Query("select concat(str(x.version), '.', str(h.version), '.', str(r.version), '.', str(l.version))" +
+            " from Rating x join x.haveTried h join h.restaurant r join r.location l where x.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    // Entity reads fetch the parents that are serialized with them (see BusinessManager)
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    Optional<Rating> findWithParentsById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Rating> findAll();
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
     List<Rating> findByHaveTriedId(Integer haveTriedId);
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Rating> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "haveTried.restaurant.location")
+    List<Rating> findByIdIn(Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.RatingSummary(x.id, x.haveTried.id, x.foodRating, x.vibeRating, x.ratingDescription)" +
+            " from Rating x where x.id > :afterId order by x.id")
+    List<RatingSummary> findSummaries(@Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from Rating x where x.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    // What the rating stats need to forget a rating, read without loading the rating or its visit
+    @Query("select h.restaurant.id as restaurantId, x.foodRating as foodRating, x.vibeRating as vibeRating" +
+            " from Rating x join x.haveTried h where x.id = :id")
+    Optional<RatingValues> findValuesById(@Param("id") Integer id);
+
+    interface RatingValues {
+        Integer getRestaurantId();
+        Integer getFoodRating();
+        Integer getVibeRating();
+    }
+
+    @Query("select x from Rating x join fetch x.haveTried h join fetch h.restaurant r join fetch r.location order by x.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Rating> streamAll();
 }
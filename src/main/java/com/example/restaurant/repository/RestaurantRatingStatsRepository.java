@@ -0,0 +1,90 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.model.RestaurantRatingStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RestaurantRatingStatsRepository extends JpaRepository<RestaurantRatingStats, Integer>,
+        RestaurantRatingStatsRepositoryCustom {
+
+    // Declares the table each native write touches. Without it Hibernate assumes a native statement
+    // may change anything and drops every second-level cache region on each rating write.
+    String STATS_TABLE = "restaurant_rating_stats";
+
+    // Every restaurant's row from the rating table (also written into the data generator's load.sql)
+    String INSERT_ALL_STATS_SQL = "INSERT INTO restaurant_rating_stats" +
+            " (restaurant_id, rating_count, food_sum, vibe_sum, food_min, food_max, vibe_min, vibe_max)" +
+            " SELECT h.restaurant_id, COUNT(*), SUM(r.food_rating), SUM(r.vibe_rating)," +
+            " MIN(r.food_rating), MAX(r.food_rating), MIN(r.vibe_rating), MAX(r.vibe_rating)" +
+            " FROM rating r JOIN have_tried h ON h.id = r.have_tried_id" +
+            " GROUP BY h.restaurant_id";
+
+    // Adds a group of new ratings (count, sums and extremes) to a restaurant's row, creating it if needed
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Modifying
+    @Query(value = "INSERT INTO restaurant_rating_stats" +
+            " (restaurant_id, rating_count, food_sum, vibe_sum, food_min, food_max, vibe_min, vibe_max)" +
+            " VALUES (:restaurantId, :count, :foodSum, :vibeSum, :foodMin, :foodMax, :vibeMin, :vibeMax)" +
+            " ON DUPLICATE KEY UPDATE rating_count = rating_count + :count," +
+            " food_sum = food_sum + :foodSum, vibe_sum = vibe_sum + :vibeSum," +
+            " food_min = LEAST(food_min, :foodMin), food_max = GREATEST(food_max, :foodMax)," +
+            " vibe_min = LEAST(vibe_min, :vibeMin), vibe_max = GREATEST(vibe_max, :vibeMax)",
+            nativeQuery = true)
+    int addRatings(@Param("restaurantId") Integer restaurantId, @Param("count") int count,
+                   @Param("foodSum") int foodSum, @Param("vibeSum") int vibeSum,
+                   @Param("foodMin") int foodMin, @Param("foodMax") int foodMax,
+                   @Param("vibeMin") int vibeMin, @Param("vibeMax") int vibeMax);
+
+    /**
+     * Subtracts one rating, but only while it lies strictly inside the current min/max range, so the
+     * stored extremes stay exact. Returns 0 when the rating may have been an extreme (or the row is
+     * missing); the caller then recomputes the row from the base tables.
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Modifying
+    @Query(value = "UPDATE restaurant_rating_stats" +
+            " SET rating_count = rating_count - 1, food_sum = food_sum - :food, vibe_sum = vibe_sum - :vibe" +
+            " WHERE restaurant_id = :restaurantId" +
+            " AND food_min < :food AND food_max > :food AND vibe_min < :vibe AND vibe_max > :vibe",
+            nativeQuery = true)
+    int removeRating(@Param("restaurantId") Integer restaurantId, @Param("food") int food, @Param("vibe") int vibe);
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM restaurant_rating_stats WHERE restaurant_id = :restaurantId", nativeQuery = true)
+    int deleteStats(@Param("restaurantId") Integer restaurantId);
+
+    // Recomputes one restaurant's row from rating/have_tried (call deleteStats first)
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO restaurant_rating_stats" +
+            " (restaurant_id, rating_count, food_sum, vibe_sum, food_min, food_max, vibe_min, vibe_max)" +
+            " SELECT h.restaurant_id, COUNT(*), SUM(r.food_rating), SUM(r.vibe_rating)," +
+            " MIN(r.food_rating), MAX(r.food_rating), MIN(r.vibe_rating), MAX(r.vibe_rating)" +
+            " FROM rating r JOIN have_tried h ON h.id = r.have_tried_id" +
+            " WHERE h.restaurant_id = :restaurantId GROUP BY h.restaurant_id",
+            nativeQuery = true)
+    int insertStatsFromRatings(@Param("restaurantId") Integer restaurantId);
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM restaurant_rating_stats", nativeQuery = true)
+    int deleteAllStats();
+
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = STATS_TABLE))
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_ALL_STATS_SQL, nativeQuery = true)
+    int insertAllStatsFromRatings();
+}
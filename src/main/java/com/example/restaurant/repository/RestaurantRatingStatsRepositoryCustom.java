@@ -0,0 +1,16 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.dto.LeaderboardEntry;
+import com.example.restaurant.dto.RatingMetric;
+
+import java.util.List;
+
+public interface RestaurantRatingStatsRepositoryCustom {
+
+    /**
+     * Top restaurants by the given metric, ranked and limited in the database.
+     * Null filters are ignored; non-null ones are matched exactly (MySQL's default collation is case-insensitive).
+     */
+    List<LeaderboardEntry> findLeaderboard(String cuisine, String type, String city, String state,
+                                           RatingMetric metric, int minRatings, int limit);
+}
@@ -0,0 +1,70 @@
+package com.example.restaurant.repository;
+
+import com.example.restaurant.dto.LeaderboardEntry;
+import com.example.restaurant.dto.RatingMetric;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leaderboard query over restaurant_rating_stats. Only the filters actually supplied are added to
+ * the WHERE clause, so MySQL can drive the join from the matching restaurant/location indexes
+ * instead of evaluating "(:x is null or ...)" against every row; ORDER BY ... LIMIT keeps the
+ * ranking in the database.
+ */
+public class RestaurantRatingStatsRepositoryImpl implements RestaurantRatingStatsRepositoryCustom {
+
+    private static final String FOOD_AVG = "cast(s.foodSum as double) / s.ratingCount";
+    private static final String VIBE_AVG = "cast(s.vibeSum as double) / s.ratingCount";
+    private static final String OVERALL_AVG = "cast(s.foodSum + s.vibeSum as double) / (2 * s.ratingCount)";
+
+    private final EntityManager em;
+
+    public RestaurantRatingStatsRepositoryImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public List<LeaderboardEntry> findLeaderboard(String cuisine, String type, String city, String state,
+                                                  RatingMetric metric, int minRatings, int limit) {
+        String score = switch (metric) {
+            case FOOD -> FOOD_AVG;
+            case VIBE -> VIBE_AVG;
+            case OVERALL -> OVERALL_AVG;
+        };
+
+        StringBuilder jpql = new StringBuilder()
+                .append("select new com.example.restaurant.dto.LeaderboardEntry(")
+                .append("r.id, r.restaurantName, r.type, r.cuisine, l.city, l.state, s.ratingCount, ")
+                .append(FOOD_AVG).append(", ").append(VIBE_AVG).append(", ").append(score).append(")")
+                .append(" from RestaurantRatingStats s join Restaurant r on r.id = s.restaurantId join r.location l")
+                .append(" where s.ratingCount >= :minRatings");
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("minRatings", minRatings);
+        if (cuisine != null) {
+            jpql.append(" and r.cuisine = :cuisine");
+            params.put("cuisine", cuisine);
+        }
+        if (type != null) {
+            jpql.append(" and r.type = :type");
+            params.put("type", type);
+        }
+        if (city != null) {
+            jpql.append(" and l.city = :city");
+            params.put("city", city);
+        }
+        if (state != null) {
+            jpql.append(" and l.state = :state");
+            params.put("state", state);
+        }
+        jpql.append(" order by ").append(score).append(" desc, s.ratingCount desc, r.id asc");
+
+        TypedQuery<LeaderboardEntry> query = em.createQuery(jpql.toString(), LeaderboardEntry.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
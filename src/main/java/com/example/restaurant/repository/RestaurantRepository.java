@@ -1,11 +1,70 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.AutocompleteSuggestion;
+import com.example.restaurant.dto.GeoPoint;
+import com.example.restaurant.dto.RestaurantSummary;
 import com.example.restaurant.model.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RestaurantRepository extends JpaRepository<Restaurant, Integer> {
+    @Query("select concat(str(r.version), '.', str(l.version)) from Restaurant r join r.location l where r.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    // List reads fetch the location that the JSON includes (open-in-view is off); single rows come
+    // from the second-level cache instead, see BusinessManager.findRestaurantById
+    @Override
+    @EntityGraph(attributePaths = "location")
+    List<Restaurant> findAll();
+
+    @EntityGraph(attributePaths = "location")
     List<Restaurant> findByLocationId(Integer locationId);
     List<Restaurant> findByRestaurantNameContainingIgnoreCase(String name);
+
+    @EntityGraph(attributePaths = "location")
+    List<Restaurant> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "location")
+    List<Restaurant> findByIdIn(Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.RestaurantSummary(r.id, r.restaurantName, l.city, l.state, r.type, r.cuisine)" +
+            " from Restaurant r join r.location l where r.id > :afterId order by r.id")
+    List<RestaurantSummary> findSummaries(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("select new com.example.restaurant.dto.RestaurantSummary(r.id, r.restaurantName, l.city, l.state, r.type, r.cuisine)" +
+            " from Restaurant r join r.location l where r.id in :ids")
+    List<RestaurantSummary> findSummariesByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.GeoPoint(r.id, r.latitude, r.longitude)" +
+            " from Restaurant r where r.id > :afterId and r.latitude is not null and r.longitude is not null order by r.id")
+    List<GeoPoint> findGeoPoints(@Param("afterId") Integer afterId, Limit limit);
+
+    // Nearby-search fallback while the in-memory GeoIndex is unavailable (uses idx_restaurant_lat_lon)
+    @Query("select new com.example.restaurant.dto.GeoPoint(r.id, r.latitude, r.longitude) from Restaurant r" +
+            " where r.latitude between :minLat and :maxLat and r.longitude between :minLon and :maxLon")
+    List<GeoPoint> findGeoPointsInBox(@Param("minLat") double minLat, @Param("maxLat") double maxLat,
+                                      @Param("minLon") double minLon, @Param("maxLon") double maxLon);
+
+    // Autocomplete fallback while the in-memory index is unavailable; pattern is a lower-case LIKE prefix
+    @Query("select new com.example.restaurant.dto.AutocompleteSuggestion('restaurant', r.id, r.restaurantName)" +
+            " from Restaurant r where lower(r.restaurantName) like :pattern escape '!' order by lower(r.restaurantName), r.id")
+    List<AutocompleteSuggestion> findNameSuggestions(@Param("pattern") String pattern, Limit limit);
+
+    @Query("select r from Restaurant r join fetch r.location order by r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Restaurant> streamAll();
 }
@@ -1,10 +1,56 @@
 package com.example.restaurant.repository;
 
+import com.example.restaurant.dto.WantToTrySummary;
 import com.example.restaurant.model.WantToTry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface WantToTryRepository extends JpaRepository<WantToTry, Integer> {
+    @Query("select concat(str(w.version), '.', str(r.version), '.', str(l.version))" +
+            " from WantToTry w join w.restaurant r join r.location l where w.id = :id")
+    Optional<String> findVersionChainById(@Param("id") Integer id);
+
+    // Entity reads fetch the parents that are serialized with them (see BusinessManager)
+    @EntityGraph(attributePaths = "restaurant.location")
+    Optional<WantToTry> findWithParentsById(Integer id);
+
+    @Override
+    @EntityGraph(attributePaths = "restaurant.location")
+    List<WantToTry> findAll();
+
+    @EntityGraph(attributePaths = "restaurant.location")
     List<WantToTry> findByRestaurantId(Integer restaurantId);
+
+    @EntityGraph(attributePaths = "restaurant.location")
+    List<WantToTry> findByIdGreaterThanOrderByIdAsc(Integer afterId, Limit limit);
+
+    @EntityGraph(attributePaths = "restaurant.location")
+    List<WantToTry> findByIdIn(Collection<Integer> ids);
+
+    @Query("select new com.example.restaurant.dto.WantToTrySummary(w.id, r.id, r.restaurantName)" +
+            " from WantToTry w join w.restaurant r where w.id > :afterId order by w.id")
+    List<WantToTrySummary> findSummaries(@Param("afterId") Integer afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from WantToTry w where w.id = :id")
+    int deleteRowById(@Param("id") Integer id);
+
+    @Query("select w from WantToTry w join fetch w.restaurant r join fetch r.location order by w.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<WantToTry> streamAll();
 }
@@ -0,0 +1,116 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.dto.BatchItemResult;
+import com.example.restaurant.dto.BatchResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * BatchWriteService - applies a create or update to every element of a batch request.
+ *
+ * Elements are written chunkSize at a time, each chunk in its own transaction, so Hibernate can
+ * send the inserts/updates as JDBC batches and a large request never holds one huge transaction.
+ * If a chunk fails it is rolled back and replayed one element per transaction, so only the bad
+ * elements are reported as failed and the rest of the chunk is still saved.
+ *
+ * Elements arrive as raw JSON and are bound one at a time: a malformed element fails on its own,
+ * and @JsonIdentityInfo references (e.g. many ratings pointing at {"id": 5}) never collide.
+ */
+@Service
+public class BatchWriteService {
+
+    private final TransactionTemplate tx;
+    private final EntityManager em;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+
+    public BatchWriteService(PlatformTransactionManager txManager, EntityManager em, ObjectMapper mapper,
+                             @Value("${restaurant.batch.chunk-size:500}") int chunkSize) {
+        this.tx = new TransactionTemplate(txManager);
+        this.em = em;
+        this.mapper = mapper;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public <T> BatchResult createAll(List<JsonNode> elements, Class<T> type,
+                                     Function<T, T> create, Function<T, Integer> idOf) {
+        return write(elements, type, item -> idOf.apply(create.apply(item)));
+    }
+
+    public <T> BatchResult updateAll(List<JsonNode> elements, Class<T> type,
+                                     BiFunction<Integer, T, Optional<T>> update, Function<T, Integer> idOf) {
+        return write(elements, type, item -> {
+            Integer id = idOf.apply(item);
+            if (id == null) throw new IllegalArgumentException(type.getSimpleName() + " id required for update");
+            return update.apply(id, item).map(idOf)
+                    .orElseThrow(() -> new IllegalArgumentException(type.getSimpleName() + " id " + id + " does not exist"));
+        });
+    }
+
+    private <T> BatchResult write(List<JsonNode> elements, Class<T> type, Function<T, Integer> op) {
+        BatchItemResult[] results = new BatchItemResult[elements.size()];
+        List<Integer> indexes = new ArrayList<>(elements.size());
+        List<T> items = new ArrayList<>(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            try {
+                items.add(mapper.treeToValue(elements.get(i), type));
+                indexes.add(i);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                results[i] = BatchItemResult.failed(i, "Invalid " + type.getSimpleName() + ": " + e.getMessage());
+            }
+        }
+
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, items.size());
+            List<T> chunk = items.subList(start, end);
+            try {
+                List<Integer> ids = tx.execute(status -> applyAll(chunk, op));
+                for (int i = start; i < end; i++) {
+                    results[indexes.get(i)] = BatchItemResult.ok(indexes.get(i), ids.get(i - start));
+                }
+            } catch (RuntimeException chunkFailure) {
+                for (int i = start; i < end; i++) {
+                    T item = items.get(i);
+                    try {
+                        List<Integer> ids = tx.execute(status -> applyAll(List.of(item), op));
+                        results[indexes.get(i)] = BatchItemResult.ok(indexes.get(i), ids.get(0));
+                    } catch (RuntimeException e) {
+                        results[indexes.get(i)] = BatchItemResult.failed(indexes.get(i), describe(e));
+                    }
+                }
+            }
+        }
+        return BatchResult.of(Arrays.asList(results));
+    }
+
+    private <T> List<Integer> applyAll(List<T> items, Function<T, Integer> op) {
+        List<Integer> ids = new ArrayList<>(items.size());
+        for (T item : items) {
+            ids.add(op.apply(item));
+        }
+        // Send the batched statements now so constraint violations surface inside this chunk,
+        // then drop the written entities so the persistence context does not grow across chunks
+        em.flush();
+        em.clear();
+        return ids;
+    }
+
+    private static String describe(RuntimeException e) {
+        Throwable cause = (e instanceof NestedRuntimeException nested) ? nested.getMostSpecificCause() : e;
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.dto.CacheRegionStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reads Hibernate's second-level and query cache counters
+ * (requires hibernate.generate_statistics=true).
+ * <p>
+ * The Statistics object is shared with the hibernate.* metrics, so a reset never clears it:
+ * it records a baseline, and counters are reported relative to the last baseline.
+ */
+@Service
+public class CacheStatsService {
+
+    private final Statistics statistics;
+    private volatile Map<String, CacheRegionStats> baseline = Map.of();
+
+    public CacheStatsService(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Overall entity-cache totals, the query cache, then one entry per region, since the last reset
+    public List<CacheRegionStats> findAll() {
+        Map<String, CacheRegionStats> since = baseline;
+        return totals().stream().map(current -> {
+            CacheRegionStats start = since.get(current.region());
+            return start == null ? current : CacheRegionStats.of(current.region(), current.hits() - start.hits(),
+                    current.misses() - start.misses(), current.puts() - start.puts());
+        }).toList();
+    }
+
+    // Start a measurement run: later reads count from the current totals
+    public void reset() {
+        baseline = totals().stream().collect(Collectors.toMap(CacheRegionStats::region, Function.identity()));
+    }
+
+    // Totals since startup
+    private List<CacheRegionStats> totals() {
+        List<CacheRegionStats> result = new ArrayList<>();
+        result.add(CacheRegionStats.of("second-level (all regions)", statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.add(CacheRegionStats.of("query cache", statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                result.add(CacheRegionStats.of(name, region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.ChangeFeed;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChangeService {
+
+    private final BusinessManager bm;
+
+    public ChangeService(BusinessManager bm) {
+        this.bm = bm;
+    }
+
+    public ChangeFeed findChanges(Long since, Integer limit) {
+        return bm.findChanges(since, limit);
+    }
+}
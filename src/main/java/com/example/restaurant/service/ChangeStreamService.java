@@ -0,0 +1,144 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.business.ChangeLog;
+import com.example.restaurant.dto.Change;
+import com.example.restaurant.dto.ChangeFeed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ChangeStreamService - pushes the change feed to GET /api/changes/stream subscribers as
+ * server-sent events: one "change" event per Change, with the sequence number as event id, so a
+ * reconnecting EventSource resumes where it left off (Last-Event-ID).
+ *
+ * Subscribers are brought up to date right after every commit on this instance that logged
+ * changes, and every poll interval in any case; the poll picks up writes made through other
+ * instances and keeps idle connections open with a comment line. A single feed query, starting
+ * at the oldest subscriber's position, serves all subscribers. A subscriber whose position has
+ * been pruned from the log gets a "resync" event and is disconnected.
+ */
+@Service
+public class ChangeStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    private final BusinessManager bm;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean pushPending = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+
+    public ChangeStreamService(BusinessManager bm, ChangeLog changeLog,
+                               @Value("${restaurant.changes.stream-poll-interval:5s}") Duration pollInterval,
+                               @Value("${restaurant.changes.stream-timeout:30m}") Duration timeout) {
+        this.bm = bm;
+        this.timeoutMillis = timeout.toMillis();
+        this.executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread t = new Thread(task, "change-stream");
+            t.setDaemon(true);
+            return t;
+        });
+        long pollMillis = pollInterval.toMillis();
+        executor.scheduleWithFixedDelay(() -> push(true), pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        changeLog.addListener(this::schedulePush);
+    }
+
+    /** Streams the changes after since, or from now on when since is null. */
+    public SseEmitter subscribe(Long since) {
+        if (since != null && since < 0) throw new IllegalArgumentException("Invalid change token: " + since);
+        long start = since != null ? since : bm.findChanges(null, null).next();
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber s = new Subscriber(emitter, start);
+        emitter.onCompletion(() -> subscribers.remove(s));
+        emitter.onTimeout(() -> subscribers.remove(s));
+        emitter.onError(e -> subscribers.remove(s));
+        subscribers.add(s);
+        schedulePush();
+        return emitter;
+    }
+
+    private void schedulePush() {
+        if (subscribers.isEmpty() || !pushPending.compareAndSet(false, true)) return;
+        executor.execute(() -> push(false));
+    }
+
+    // Runs on the executor thread only
+    private void push(boolean keepAlive) {
+        pushPending.set(false);
+        try {
+            while (!subscribers.isEmpty()) {
+                long from = subscribers.stream().mapToLong(s -> s.seq).min().getAsLong();
+                ChangeFeed feed = bm.findChanges(from, BusinessManager.MAX_PAGE_SIZE);
+                for (Subscriber s : subscribers) {
+                    if (feed.resync()) {
+                        if (s.seq == from) resync(s);
+                    } else if (s.seq <= feed.next()) {
+                        send(s, feed, keepAlive);
+                    }
+                }
+                if (!feed.hasMore() && !feed.resync()) break;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Change stream push failed; retrying at the next poll", e);
+        }
+    }
+
+    private void send(Subscriber s, ChangeFeed feed, boolean keepAlive) {
+        try {
+            boolean sent = false;
+            for (Change c : feed.changes()) {
+                if (c.seq() <= s.seq) continue;
+                s.emitter.send(SseEmitter.event().name("change").id(Long.toString(c.seq())).data(c, MediaType.APPLICATION_JSON));
+                sent = true;
+            }
+            s.seq = feed.next();
+            if (!sent && keepAlive) s.emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away (or the emitter completed); the callbacks may not have run yet
+            subscribers.remove(s);
+            s.emitter.completeWithError(e);
+        }
+    }
+
+    private void resync(Subscriber s) {
+        subscribers.remove(s);
+        try {
+            s.emitter.send(SseEmitter.event().name("resync").data("{}", MediaType.APPLICATION_JSON));
+            s.emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            s.emitter.completeWithError(e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        volatile long seq;
+
+        Subscriber(SseEmitter emitter, long seq) {
+            this.emitter = emitter;
+            this.seq = seq;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.DishSummary;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.Versioned;
 import com.example.restaurant.model.Dish;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +26,13 @@ import java.util.Optional;
 public class DishService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public DishService(BusinessManager bm) {
+    public DishService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     // Create new dish
@@ -37,11 +50,44 @@ public class DishService {
         return bm.findAllDishes();
     }
 
+    // Keyset page (?after=<id>&limit=N)
+    public KeysetPage<Dish> findPage(Integer after, Integer limit) {
+        return bm.findDishesPage(after, limit);
+    }
+
+    public KeysetPage<DishSummary> findSummaries(Integer after, Integer limit) {
+        return bm.findDishSummaries(after, limit);
+    }
+
+    // Stream the whole table as NDJSON
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllDishes, out);
+    }
+
     // Get by id
     public Optional<Dish> findById(Integer id) {
         return Optional.ofNullable(bm.findDishById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<Dish>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.DISHES, id), () -> bm.findDishById(id), Dish::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<Dish>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<Dish>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.DISHES));
+    }
+
     // Find by haveTried id (you must implement this in BusinessManager or repository)
     public List<Dish> findByHaveTriedId(Integer haveTriedId) {
         return bm.findDishesByHaveTriedId(haveTriedId);
@@ -52,9 +98,10 @@ public class DishService {
      * This matches BusinessManager.updateDish(Dish existing).
      */
     @Transactional
-    public Optional<Dish> update(Integer id, Dish updates) {
+    public Optional<Dish> update(Integer id, Dish updates, Integer expectedVersion) {
         Dish existing = bm.findDishById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("Dish", id, expectedVersion, existing.getVersion());
 
         if (updates.getDishName() != null) existing.setDishName(updates.getDishName());
         if (updates.getFoodDescription() != null) existing.setFoodDescription(updates.getFoodDescription());
@@ -64,6 +111,19 @@ public class DishService {
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<Dish> update(Integer id, Dish updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, Dish.class, this::create, Dish::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, Dish.class, this::update, Dish::getId);
+    }
+
     // Delete by id
     public boolean delete(Integer id) {
         return bm.deleteDishById(id);
@@ -1,10 +1,19 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.ExperienceSummary;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.Versioned;
 import com.example.restaurant.model.Experience;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +21,13 @@ import java.util.Optional;
 public class ExperienceService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public ExperienceService(BusinessManager bm) {
+    public ExperienceService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     public Experience create(Experience e) {
@@ -29,14 +42,46 @@ public class ExperienceService {
         return bm.findAllExperiences();
     }
 
+    public KeysetPage<Experience> findPage(Integer after, Integer limit) {
+        return bm.findExperiencesPage(after, limit);
+    }
+
+    public KeysetPage<ExperienceSummary> findSummaries(Integer after, Integer limit) {
+        return bm.findExperienceSummaries(after, limit);
+    }
+
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllExperiences, out);
+    }
+
     public Optional<Experience> findById(Integer id) {
         return Optional.ofNullable(bm.findExperienceById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<Experience>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.EXPERIENCES, id), () -> bm.findExperienceById(id), Experience::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<Experience>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<Experience>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.EXPERIENCES));
+    }
+
     @Transactional
-    public Optional<Experience> update(Integer id, Experience updates) {
+    public Optional<Experience> update(Integer id, Experience updates, Integer expectedVersion) {
         Experience existing = bm.findExperienceById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("Experience", id, expectedVersion, existing.getVersion());
 
         if (updates.getDate() != null) existing.setDate(updates.getDate());
         if (updates.getDescription() != null) existing.setDescription(updates.getDescription());
@@ -46,6 +91,19 @@ public class ExperienceService {
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<Experience> update(Integer id, Experience updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, Experience.class, this::create, Experience::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, Experience.class, this::update, Experience::getId);
+    }
+
     public boolean delete(Integer id) {
         return bm.deleteExperienceById(id);
     }
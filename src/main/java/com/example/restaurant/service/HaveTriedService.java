@@ -1,10 +1,19 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.HaveTriedSummary;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.Versioned;
 import com.example.restaurant.model.HaveTried;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +21,13 @@ import java.util.Optional;
 public class HaveTriedService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public HaveTriedService(BusinessManager bm) {
+    public HaveTriedService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     public HaveTried create(HaveTried h) {
@@ -29,14 +42,46 @@ public class HaveTriedService {
         return bm.findAllHaveTried();
     }
 
+    public KeysetPage<HaveTried> findPage(Integer after, Integer limit) {
+        return bm.findHaveTriedPage(after, limit);
+    }
+
+    public KeysetPage<HaveTriedSummary> findSummaries(Integer after, Integer limit) {
+        return bm.findHaveTriedSummaries(after, limit);
+    }
+
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllHaveTried, out);
+    }
+
     public Optional<HaveTried> findById(Integer id) {
         return Optional.ofNullable(bm.findHaveTriedById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<HaveTried>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.HAVETRIED, id), () -> bm.findHaveTriedById(id), HaveTried::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<HaveTried>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<HaveTried>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.HAVETRIED));
+    }
+
     @Transactional
-    public Optional<HaveTried> update(Integer id, HaveTried updates) {
+    public Optional<HaveTried> update(Integer id, HaveTried updates, Integer expectedVersion) {
         HaveTried existing = bm.findHaveTriedById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("HaveTried", id, expectedVersion, existing.getVersion());
 
         if (updates.getRestaurant() != null) existing.setRestaurant(updates.getRestaurant());
         // add other fields if needed
@@ -45,6 +90,19 @@ public class HaveTriedService {
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<HaveTried> update(Integer id, HaveTried updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, HaveTried.class, this::create, HaveTried::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, HaveTried.class, this::update, HaveTried::getId);
+    }
+
     public boolean delete(Integer id) {
         return bm.deleteHaveTriedById(id);
     }
@@ -1,10 +1,18 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.Versioned;
 import com.example.restaurant.model.Location;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +20,13 @@ import java.util.Optional;
 public class LocationService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public LocationService(BusinessManager bm) {
+    public LocationService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     public Location create(Location loc) {
@@ -29,14 +41,42 @@ public class LocationService {
         return bm.findAllLocations();
     }
 
+    public KeysetPage<Location> findPage(Integer after, Integer limit) {
+        return bm.findLocationsPage(after, limit);
+    }
+
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllLocations, out);
+    }
+
     public Optional<Location> findById(Integer id) {
         return Optional.ofNullable(bm.findLocationById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<Location>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.LOCATIONS, id), () -> bm.findLocationById(id), Location::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<Location>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<Location>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.LOCATIONS));
+    }
+
     @Transactional
-    public Optional<Location> update(Integer id, Location updates) {
+    public Optional<Location> update(Integer id, Location updates, Integer expectedVersion) {
         Location existing = bm.findLocationById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("Location", id, expectedVersion, existing.getVersion());
 
         if (updates.getCity() != null) existing.setCity(updates.getCity());
         if (updates.getState() != null) existing.setState(updates.getState());
@@ -45,6 +85,19 @@ public class LocationService {
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<Location> update(Integer id, Location updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, Location.class, this::create, Location::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, Location.class, this::update, Location::getId);
+    }
+
     public boolean delete(Integer id) {
         return bm.deleteLocationById(id);
     }
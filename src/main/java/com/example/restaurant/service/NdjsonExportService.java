@@ -0,0 +1,59 @@
+package com.example.restaurant.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * NdjsonExportService - writes a full table as newline-delimited JSON, one entity per line.
+ *
+ * Rows come from a cursor-backed Stream and are written as soon as they are read, so neither
+ * the result list nor the response body is ever held in memory. Every CLEAR_INTERVAL rows the
+ * output is flushed and the persistence context cleared, keeping memory constant per export.
+ */
+@Service
+public class NdjsonExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final EntityManager em;
+    private final ObjectWriter writer;
+
+    public NdjsonExportService(EntityManager em, ObjectMapper mapper) {
+        this.em = em;
+        this.writer = mapper.writer();
+    }
+
+    /**
+     * Opens the stream from source and writes each row to out. The supplier is invoked inside
+     * this method's read-only transaction so the underlying result set stays open while writing.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public <T> long export(Supplier<Stream<T>> source, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<T> rows = source.get()) {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                // a fresh serialization per row, so @JsonIdentityInfo ids never span lines
+                out.write(writer.writeValueAsBytes(it.next()));
+                out.write('\n');
+                if (++count % CLEAR_INTERVAL == 0) {
+                    out.flush();
+                    em.clear();
+                }
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.RatingSummary;
+import com.example.restaurant.dto.Versioned;
 import com.example.restaurant.model.Rating;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +21,13 @@ import java.util.Optional;
 public class RatingService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public RatingService(BusinessManager bm) {
+    public RatingService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     public Rating create(Rating r) {
@@ -29,14 +42,46 @@ public class RatingService {
         return bm.findAllRatings();
     }
 
+    public KeysetPage<Rating> findPage(Integer after, Integer limit) {
+        return bm.findRatingsPage(after, limit);
+    }
+
+    public KeysetPage<RatingSummary> findSummaries(Integer after, Integer limit) {
+        return bm.findRatingSummaries(after, limit);
+    }
+
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllRatings, out);
+    }
+
     public Optional<Rating> findById(Integer id) {
         return Optional.ofNullable(bm.findRatingById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<Rating>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.RATINGS, id), () -> bm.findRatingById(id), Rating::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<Rating>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<Rating>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.RATINGS));
+    }
+
     @Transactional
-    public Optional<Rating> update(Integer id, Rating updates) {
+    public Optional<Rating> update(Integer id, Rating updates, Integer expectedVersion) {
         Rating existing = bm.findRatingById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("Rating", id, expectedVersion, existing.getVersion());
 
         if (updates.getFoodRating() != null) existing.setFoodRating(updates.getFoodRating());
         if (updates.getVibeRating() != null) existing.setVibeRating(updates.getVibeRating());
@@ -47,6 +92,19 @@ public class RatingService {
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<Rating> update(Integer id, Rating updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, Rating.class, this::create, Rating::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, Rating.class, this::update, Rating::getId);
+    }
+
     public boolean delete(Integer id) {
         return bm.deleteRatingById(id);
     }
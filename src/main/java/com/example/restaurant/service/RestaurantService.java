@@ -1,10 +1,25 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.LeaderboardEntry;
+import com.example.restaurant.dto.NearbyRestaurant;
+import com.example.restaurant.dto.RatingMetric;
+import com.example.restaurant.dto.RestaurantDetail;
+import com.example.restaurant.dto.RestaurantScorecard;
+import com.example.restaurant.dto.RestaurantSummary;
+import com.example.restaurant.dto.Versioned;
 import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.model.RestaurantRatingStats;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +27,13 @@ import java.util.Optional;
 public class RestaurantService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public RestaurantService(BusinessManager bm) {
+    public RestaurantService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     public Restaurant create(Restaurant r) {
@@ -29,24 +48,71 @@ public class RestaurantService {
         return bm.findAllRestaurants();
     }
 
+    public KeysetPage<Restaurant> findPage(Integer after, Integer limit) {
+        return bm.findRestaurantsPage(after, limit);
+    }
+
+    public KeysetPage<RestaurantSummary> findSummaries(Integer after, Integer limit) {
+        return bm.findRestaurantSummaries(after, limit);
+    }
+
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllRestaurants, out);
+    }
+
     public Optional<Restaurant> findById(Integer id) {
         return Optional.ofNullable(bm.findRestaurantById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<Restaurant>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.RESTAURANTS, id), () -> bm.findRestaurantById(id), Restaurant::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<Restaurant>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<Restaurant>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.RESTAURANTS));
+    }
+
     @Transactional
-    public Optional<Restaurant> update(Integer id, Restaurant updates) {
+    public Optional<Restaurant> update(Integer id, Restaurant updates, Integer expectedVersion) {
         Restaurant existing = bm.findRestaurantById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("Restaurant", id, expectedVersion, existing.getVersion());
 
         if (updates.getRestaurantName() != null) existing.setRestaurantName(updates.getRestaurantName());
         if (updates.getLocation() != null) existing.setLocation(updates.getLocation());
         if (updates.getType() != null) existing.setType(updates.getType());
         if (updates.getCuisine() != null) existing.setCuisine(updates.getCuisine());
+        if (updates.getLatitude() != null) existing.setLatitude(updates.getLatitude());
+        if (updates.getLongitude() != null) existing.setLongitude(updates.getLongitude());
 
         Restaurant saved = bm.updateRestaurant(existing);
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<Restaurant> update(Integer id, Restaurant updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, Restaurant.class, this::create, Restaurant::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, Restaurant.class, this::update, Restaurant::getId);
+    }
+
     public boolean delete(Integer id) {
         return bm.deleteRestaurantById(id);
     }
@@ -55,4 +121,33 @@ public class RestaurantService {
     public List<Restaurant> findByLocationId(Integer locationId) {
         return bm.findRestaurantsByLocationId(locationId);
     }
+
+    public Optional<RestaurantDetail> findDetail(Integer id) {
+        return Optional.ofNullable(bm.findRestaurantDetail(id));
+    }
+
+    public Optional<RestaurantScorecard> findScorecard(Integer id) {
+        return Optional.ofNullable(bm.findScorecard(id));
+    }
+
+    public List<RestaurantScorecard> findScorecards(Collection<Integer> ids) {
+        return bm.findScorecards(ids);
+    }
+
+    public Optional<RestaurantRatingStats> findRatingStats(Integer id) {
+        return Optional.ofNullable(bm.findRatingStats(id));
+    }
+
+    public List<LeaderboardEntry> findLeaderboard(String cuisine, String type, String city, String state,
+                                                  RatingMetric metric, Integer minRatings, Integer limit) {
+        return bm.findLeaderboard(cuisine, type, city, state, metric, minRatings, limit);
+    }
+
+    public List<NearbyRestaurant> findNearby(Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        return bm.findNearby(latitude, longitude, radiusKm, limit);
+    }
+
+    public int rebuildRatingStats() {
+        return bm.rebuildRatingStats();
+    }
 }
\ No newline at end of file
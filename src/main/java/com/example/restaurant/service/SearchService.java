@@ -0,0 +1,28 @@
+package com.example.restaurant.service;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.AutocompleteScope;
+import com.example.restaurant.dto.AutocompleteSuggestion;
+import com.example.restaurant.dto.SearchPage;
+import com.example.restaurant.dto.SearchScope;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class SearchService {
+
+    private final BusinessManager bm;
+
+    public SearchService(BusinessManager bm) {
+        this.bm = bm;
+    }
+
+    public SearchPage search(String q, SearchScope scope, Integer offset, Integer limit) {
+        return bm.search(q, scope, offset, limit);
+    }
+
+    public List<AutocompleteSuggestion> autocomplete(String q, AutocompleteScope scope, Integer limit) {
+        return bm.autocomplete(q, scope, limit);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.restaurant.service;
+
+/**
+ * A conditional update (If-Match) found the row at another version than the one the client read:
+ * the row has changed since. Nothing is written; the client re-reads the row and reapplies its
+ * change. Answered with 412 Precondition Failed (see ApiExceptionHandler).
+ */
+public class VersionMismatchException extends RuntimeException {
+    public VersionMismatchException(String entity, Integer id, int expected, int actual) {
+        super(entity + " " + id + " is at version " + actual + ", not " + expected);
+    }
+
+    // expected is the If-Match version, or null for an unconditional update
+    static void check(String entity, Integer id, Integer expected, int actual) {
+        if (expected != null && expected != actual) throw new VersionMismatchException(entity, id, expected, actual);
+    }
+}
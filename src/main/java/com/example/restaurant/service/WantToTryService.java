@@ -1,10 +1,19 @@
 package com.example.restaurant.service;
 
 import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.dto.ChangeEntity;
+import com.example.restaurant.dto.KeysetPage;
+import com.example.restaurant.dto.Versioned;
+import com.example.restaurant.dto.WantToTrySummary;
 import com.example.restaurant.model.WantToTry;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +21,13 @@ import java.util.Optional;
 public class WantToTryService {
 
     private final BusinessManager bm;
+    private final NdjsonExportService exporter;
+    private final BatchWriteService batch;
 
-    public WantToTryService(BusinessManager bm) {
+    public WantToTryService(BusinessManager bm, NdjsonExportService exporter, BatchWriteService batch) {
         this.bm = bm;
+        this.exporter = exporter;
+        this.batch = batch;
     }
 
     public WantToTry create(WantToTry w) {
@@ -29,14 +42,46 @@ public class WantToTryService {
         return bm.findAllWantToTry();
     }
 
+    public KeysetPage<WantToTry> findPage(Integer after, Integer limit) {
+        return bm.findWantToTryPage(after, limit);
+    }
+
+    public KeysetPage<WantToTrySummary> findSummaries(Integer after, Integer limit) {
+        return bm.findWantToTrySummaries(after, limit);
+    }
+
+    public long exportNdjson(OutputStream out) throws IOException {
+        return exporter.export(bm::streamAllWantToTry, out);
+    }
+
     public Optional<WantToTry> findById(Integer id) {
         return Optional.ofNullable(bm.findWantToTryById(id));
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Versioned<WantToTry>> findById(Integer id, Collection<String> knownTags) {
+        return Versioned.find(knownTags, () -> bm.findVersionChain(ChangeEntity.WANTTOTRY, id), () -> bm.findWantToTryById(id), WantToTry::versionChain);
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<List<WantToTry>> findAll(Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findAll());
+    }
+
+    @Transactional(readOnly = true)
+    public Versioned<KeysetPage<WantToTry>> findPage(Integer after, Integer limit, Collection<String> knownTags) {
+        return Versioned.load(collectionTag(), knownTags, () -> findPage(after, limit));
+    }
+
+    private String collectionTag() {
+        return Long.toString(bm.findCollectionVersion(ChangeEntity.WANTTOTRY));
+    }
+
     @Transactional
-    public Optional<WantToTry> update(Integer id, WantToTry updates) {
+    public Optional<WantToTry> update(Integer id, WantToTry updates, Integer expectedVersion) {
         WantToTry existing = bm.findWantToTryById(id);
         if (existing == null) return Optional.empty();
+        VersionMismatchException.check("WantToTry", id, expectedVersion, existing.getVersion());
 
         if (updates.getRestaurant() != null) existing.setRestaurant(updates.getRestaurant());
         // add other fields if WantToTry grows
@@ -45,6 +90,19 @@ public class WantToTryService {
         return Optional.ofNullable(saved);
     }
 
+    @Transactional
+    public Optional<WantToTry> update(Integer id, WantToTry updates) {
+        return update(id, updates, null);
+    }
+
+    public BatchResult createAll(List<JsonNode> items) {
+        return batch.createAll(items, WantToTry.class, this::create, WantToTry::getId);
+    }
+
+    public BatchResult updateAll(List<JsonNode> items) {
+        return batch.updateAll(items, WantToTry.class, this::update, WantToTry::getId);
+    }
+
     public boolean delete(Integer id) {
         return bm.deleteWantToTryById(id);
     }
@@ -283,4 +283,21 @@ INSERT INTO dish (have_tried_id, dish_name, food_description) VALUES
 (47,'Shrimp Creole','Spicy tomato-based seafood stew'),
 (48,'Buffalo Wings','Crispy wings with blue cheese'),
 (49,'Tasting Menu','Chef set menu, seasonal courses'),
-(50,'Scone & Tea','House scone with jam and clotted cream');
\ No newline at end of file
+(50,'Scone & Tea','House scone with jam and clotted cream');
+
+-- 8) Rating aggregates per restaurant (derived from the ratings above)
+INSERT INTO restaurant_rating_stats (restaurant_id, rating_count, food_sum, vibe_sum, food_min, food_max, vibe_min, vibe_max)
+SELECT h.restaurant_id, COUNT(*), SUM(r.food_rating), SUM(r.vibe_rating),
+       MIN(r.food_rating), MAX(r.food_rating), MIN(r.vibe_rating), MAX(r.vibe_rating)
+FROM rating r JOIN have_tried h ON h.id = r.have_tried_id
+WHERE NOT EXISTS (SELECT 1 FROM restaurant_rating_stats s WHERE s.restaurant_id = h.restaurant_id)
+GROUP BY h.restaurant_id;
+
+-- 9) Id allocation: JPA inserts continue after the ids used above (schema.sql created the rows)
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM location)) WHERE seq_name = 'location';
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM restaurant)) WHERE seq_name = 'restaurant';
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM want_to_try)) WHERE seq_name = 'want_to_try';
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM have_tried)) WHERE seq_name = 'have_tried';
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM rating)) WHERE seq_name = 'rating';
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM experience)) WHERE seq_name = 'experience';
+UPDATE id_sequence SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM dish)) WHERE seq_name = 'dish';
\ No newline at end of file
@@ -0,0 +1,33 @@
+-- src/main/resources/schema-mysql.sql
+-- MySQL-only additions to schema.sql, run after it (spring.sql.init.platform=mysql).
+-- FULLTEXT indexes behind GET /api/search. Building them on a large table takes a while.
+-- MySQL has no CREATE INDEX IF NOT EXISTS, so each index is created only when information_schema lacks it,
+-- keeping the script safe to re-run like schema.sql.
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'restaurant' AND index_name = 'ft_restaurant_text') = 0,
+            'CREATE FULLTEXT INDEX ft_restaurant_text ON restaurant(restaurant_name, cuisine, type)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'dish' AND index_name = 'ft_dish_text') = 0,
+            'CREATE FULLTEXT INDEX ft_dish_text ON dish(dish_name, food_description)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'rating' AND index_name = 'ft_rating_text') = 0,
+            'CREATE FULLTEXT INDEX ft_rating_text ON rating(rating_description)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+             WHERE table_schema = DATABASE() AND table_name = 'experience' AND index_name = 'ft_experience_text') = 0,
+            'CREATE FULLTEXT INDEX ft_experience_text ON experience(description)', 'DO 0');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
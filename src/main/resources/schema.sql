@@ -1,10 +1,13 @@
 -- src/main/resources/schema.sql
 -- Idempotent schema for Restaurant Manager
 -- Note: do NOT include CREATE DATABASE or USE statements here when Spring runs scripts.
+-- version (all seven entity tables): optimistic-locking counter, incremented by every update through the API.
+-- Existing databases: ALTER TABLE <table> ADD COLUMN version INT NOT NULL DEFAULT 0 AFTER id;
 
 -- Location
 CREATE TABLE IF NOT EXISTS location (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   city VARCHAR(100) NOT NULL,
   state VARCHAR(50) NOT NULL
 );
@@ -12,16 +15,22 @@ CREATE TABLE IF NOT EXISTS location (
 -- Restaurant
 CREATE TABLE IF NOT EXISTS restaurant (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   restaurant_name VARCHAR(200) NOT NULL,
   location_id INT NOT NULL,
   type VARCHAR(100),
   cuisine VARCHAR(100),
+  -- WGS84 degrees, both or neither (GET /api/restaurants/nearby). Existing databases:
+  -- ALTER TABLE restaurant ADD COLUMN latitude DOUBLE, ADD COLUMN longitude DOUBLE;
+  latitude DOUBLE,
+  longitude DOUBLE,
   CONSTRAINT fk_restaurant_location FOREIGN KEY (location_id) REFERENCES location(id) ON DELETE RESTRICT ON UPDATE CASCADE
 );
 
 -- WantToTry
 CREATE TABLE IF NOT EXISTS want_to_try (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   restaurant_id INT NOT NULL,
   CONSTRAINT fk_want_to_try_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurant(id) ON DELETE CASCADE ON UPDATE CASCADE
 );
@@ -29,6 +38,7 @@ CREATE TABLE IF NOT EXISTS want_to_try (
 -- HaveTried
 CREATE TABLE IF NOT EXISTS have_tried (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   restaurant_id INT NOT NULL,
   CONSTRAINT fk_have_tried_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurant(id) ON DELETE CASCADE ON UPDATE CASCADE
 );
@@ -36,6 +46,7 @@ CREATE TABLE IF NOT EXISTS have_tried (
 -- Rating (references have_tried)
 CREATE TABLE IF NOT EXISTS rating (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   have_tried_id INT NOT NULL,
   food_rating TINYINT NOT NULL CHECK (food_rating BETWEEN 1 AND 5),
   vibe_rating TINYINT NOT NULL CHECK (vibe_rating BETWEEN 1 AND 5),
@@ -46,6 +57,7 @@ CREATE TABLE IF NOT EXISTS rating (
 -- Experience (references have_tried)
 CREATE TABLE IF NOT EXISTS experience (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   have_tried_id INT NOT NULL,
   `date` DATE NOT NULL,
   description TEXT,
@@ -55,16 +67,83 @@ CREATE TABLE IF NOT EXISTS experience (
 -- Dish (references have_tried)
 CREATE TABLE IF NOT EXISTS dish (
   id INT AUTO_INCREMENT PRIMARY KEY,
+  version INT NOT NULL DEFAULT 0,
   have_tried_id INT NOT NULL,
   dish_name VARCHAR(200) NOT NULL,
   food_description TEXT,
   CONSTRAINT fk_dish_have_tried FOREIGN KEY (have_tried_id) REFERENCES have_tried(id) ON DELETE CASCADE ON UPDATE CASCADE
 );
 
+-- RestaurantRatingStats (running rating aggregates per restaurant, maintained on every rating write;
+-- rebuild with POST /api/restaurants/rating-stats/rebuild if it ever drifts)
+CREATE TABLE IF NOT EXISTS restaurant_rating_stats (
+  restaurant_id INT PRIMARY KEY,
+  rating_count INT NOT NULL,
+  food_sum INT NOT NULL,
+  vibe_sum INT NOT NULL,
+  food_min TINYINT NOT NULL,
+  food_max TINYINT NOT NULL,
+  vibe_min TINYINT NOT NULL,
+  vibe_max TINYINT NOT NULL,
+  CONSTRAINT fk_rating_stats_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurant(id) ON DELETE CASCADE ON UPDATE CASCADE
+);
+
+-- IdSequence (next free id per table; Hibernate reserves ids from here in blocks of 50 so inserts can be batched)
+CREATE TABLE IF NOT EXISTS id_sequence (
+  seq_name VARCHAR(64) PRIMARY KEY,
+  next_val BIGINT NOT NULL
+);
+
+-- One row per entity, starting after the ids already in its table (rows that exist are left alone)
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'location', COALESCE(MAX(id), 0) + 1 FROM location WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'location');
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'restaurant', COALESCE(MAX(id), 0) + 1 FROM restaurant WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'restaurant');
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'want_to_try', COALESCE(MAX(id), 0) + 1 FROM want_to_try WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'want_to_try');
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'have_tried', COALESCE(MAX(id), 0) + 1 FROM have_tried WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'have_tried');
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'rating', COALESCE(MAX(id), 0) + 1 FROM rating WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'rating');
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'experience', COALESCE(MAX(id), 0) + 1 FROM experience WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'experience');
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'dish', COALESCE(MAX(id), 0) + 1 FROM dish WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'dish');
+
+-- ChangeLog (one row per changed entity row, for GET /api/changes; deleted marks a tombstone). seq comes from
+-- the 'change_log' row of id_sequence, taken at commit, so it has no gaps and follows commit order.
+-- Prune with e.g. DELETE FROM change_log WHERE changed_at < NOW() - INTERVAL 90 DAY; clients behind it must resync
+CREATE TABLE IF NOT EXISTS change_log (
+  seq BIGINT PRIMARY KEY,
+  entity VARCHAR(20) NOT NULL,
+  entity_id INT NOT NULL,
+  deleted BOOLEAN NOT NULL,
+  changed_at DATETIME NOT NULL
+);
+
+INSERT INTO id_sequence (seq_name, next_val)
+SELECT 'change_log', 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM id_sequence WHERE seq_name = 'change_log');
+
+-- ImportProgress (record ranges committed by the CSV importer, per job; lets a failed import resume)
+CREATE TABLE IF NOT EXISTS import_progress (
+  id BIGINT AUTO_INCREMENT PRIMARY KEY,
+  job_name VARCHAR(200) NOT NULL,
+  first_record BIGINT NOT NULL,
+  last_record BIGINT NOT NULL,
+  committed_at DATETIME NOT NULL
+);
+
 -- Indexes (optional)
 CREATE INDEX IF NOT EXISTS idx_restaurant_location ON restaurant(location_id);
 CREATE INDEX IF NOT EXISTS idx_want_to_try_restaurant ON want_to_try(restaurant_id);
 CREATE INDEX IF NOT EXISTS idx_have_tried_restaurant ON have_tried(restaurant_id);
 CREATE INDEX IF NOT EXISTS idx_rating_have_tried ON rating(have_tried_id);
 CREATE INDEX IF NOT EXISTS idx_experience_have_tried ON experience(have_tried_id);
-CREATE INDEX IF NOT EXISTS idx_dish_have_tried ON dish(have_tried_id);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_dish_have_tried ON dish(have_tried_id);
+CREATE INDEX IF NOT EXISTS idx_restaurant_cuisine ON restaurant(cuisine);
+CREATE INDEX IF NOT EXISTS idx_restaurant_type ON restaurant(type);
+CREATE INDEX IF NOT EXISTS idx_restaurant_lat_lon ON restaurant(latitude, longitude);
+CREATE INDEX IF NOT EXISTS idx_location_city_state ON location(city, state);
+CREATE INDEX IF NOT EXISTS idx_import_progress_job ON import_progress(job_name, first_record);
+-- Collection ETags: last change per entity (BusinessManager.findCollectionVersion)
+CREATE INDEX IF NOT EXISTS idx_change_log_entity ON change_log(entity, seq);
\ No newline at end of file
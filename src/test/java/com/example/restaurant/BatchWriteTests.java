@@ -0,0 +1,82 @@
+package com.example.restaurant;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.dto.BatchItemResult;
+import com.example.restaurant.dto.BatchResult;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.DishService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Chunks of two, so the batch below has one chunk that commits and one that fails and is replayed.
+@SpringBootTest(properties = "restaurant.batch.chunk-size=2")
+@ActiveProfiles("h2")
+class BatchWriteTests {
+
+	@Autowired
+	private DishService dishService;
+
+	@Autowired
+	private BusinessManager bm;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void badElementsFailAloneAndTheRestAreSaved() throws Exception {
+		Restaurant restaurant = bm.createRestaurant(new Restaurant(null, "Batch Bistro", bm.findLocationById(1), "Bistro", "French"));
+		HaveTried visit = bm.createHaveTried(new HaveTried(null, restaurant));
+		int v = visit.getId();
+
+		List<JsonNode> elements = List.of(
+				json("{\"haveTried\": {\"id\": " + v + "}, \"dishName\": \"Batch 0\"}"),
+				// Malformed: fails while binding, before any chunk is formed
+				json("{\"haveTried\": {\"id\": " + v + "}, \"dishName\": {\"not\": \"a string\"}}"),
+				json("{\"haveTried\": {\"id\": " + v + "}, \"dishName\": \"Batch 2\"}"),
+				// No such visit: the FK fails the second chunk, which is then replayed one element at a time
+				json("{\"haveTried\": {\"id\": 999999}, \"dishName\": \"Batch 3\"}"),
+				json("{\"haveTried\": {\"id\": " + v + "}, \"dishName\": \"Batch 4\"}"));
+
+		BatchResult result = dishService.createAll(elements);
+
+		assertEquals(3, result.succeeded());
+		assertEquals(2, result.failed());
+		List<BatchItemResult> items = result.items();
+		assertEquals(5, items.size());
+		for (int i = 0; i < items.size(); i++) {
+			assertEquals(i, items.get(i).index());
+		}
+		for (int i : new int[] {1, 3}) {
+			assertNull(items.get(i).id(), "element " + i);
+			assertNotNull(items.get(i).error(), "element " + i);
+		}
+		assertTrue(items.get(1).error().startsWith("Invalid Dish"), items.get(1).error());
+		for (int i : new int[] {0, 2, 4}) {
+			assertNull(items.get(i).error(), "element " + i);
+			assertEquals("Batch " + i, jdbc.queryForObject("SELECT dish_name FROM dish WHERE id = ? AND have_tried_id = ?",
+					String.class, items.get(i).id(), v));
+		}
+		assertEquals(List.of("Batch 0", "Batch 2", "Batch 4"),
+				jdbc.queryForList("SELECT dish_name FROM dish WHERE dish_name LIKE 'Batch %' ORDER BY dish_name", String.class));
+	}
+
+	private JsonNode json(String text) throws Exception {
+		return mapper.readTree(text);
+	}
+}
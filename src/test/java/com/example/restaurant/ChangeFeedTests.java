@@ -0,0 +1,136 @@
+package com.example.restaurant;
+
+import com.example.restaurant.dto.Change;
+import com.example.restaurant.dto.ChangeFeed;
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.ChangeService;
+import com.example.restaurant.service.DishService;
+import com.example.restaurant.service.HaveTriedService;
+import com.example.restaurant.service.LocationService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class ChangeFeedTests {
+
+	@Autowired
+	private ChangeService changeService;
+
+	@Autowired
+	private LocationService locationService;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Autowired
+	private HaveTriedService haveTriedService;
+
+	@Autowired
+	private DishService dishService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void feedHasOneEntryPerChangedRowAndTombstonesForDeletes() {
+		long token = changeService.findChanges(null, null).next();
+
+		Location location = locationService.create(new Location(null, "Feedville", "OR"));
+		Restaurant restaurant = restaurantService.create(new Restaurant(null, "Feed Diner", location, "Casual", "American"));
+		restaurantService.update(restaurant.getId(), new Restaurant(null, null, null, null, "Diner"));
+		HaveTried visit = haveTriedService.create(new HaveTried(null, restaurant));
+		Dish dish = dishService.create(new Dish(null, visit, "Pancakes", null));
+		assertTrue(dishService.delete(dish.getId()));
+
+		ChangeFeed feed = changeService.findChanges(token, null);
+		assertFalse(feed.hasMore());
+		assertEquals(List.of("locations", "restaurants", "havetried", "dishes"),
+				feed.changes().stream().map(Change::entity).toList());
+		Change restaurantChange = find(feed, "restaurants", restaurant.getId());
+		assertEquals("Diner", ((Restaurant) restaurantChange.data()).getCuisine());
+		Change dishChange = find(feed, "dishes", dish.getId());
+		assertTrue(dishChange.deleted());
+		assertNull(dishChange.data());
+
+		// Nothing new: same token back
+		assertEquals(feed.next(), changeService.findChanges(feed.next(), null).next());
+
+		// Deleting the restaurant cascades to its visit: a tombstone for the restaurant, and the
+		// visit, logged as saved earlier, is reported deleted too
+		assertTrue(restaurantService.delete(restaurant.getId()));
+		ChangeFeed afterDelete = changeService.findChanges(feed.next(), null);
+		assertEquals(1, afterDelete.changes().size());
+		assertTrue(find(afterDelete, "restaurants", restaurant.getId()).deleted());
+		assertTrue(find(changeService.findChanges(token, null), "havetried", visit.getId()).deleted());
+	}
+
+	@Test
+	void concurrentWritersGetGapFreeSequenceNumbers() throws Exception {
+		long token = changeService.findChanges(null, null).next();
+		int threads = 8;
+		int perThread = 20;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> done = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int n = t;
+				done.add(pool.submit(() -> {
+					for (int i = 0; i < perThread; i++) locationService.create(new Location(null, "Seq " + n + "-" + i, "WA"));
+				}));
+			}
+			for (Future<?> f : done) f.get();
+		} finally {
+			pool.shutdown();
+		}
+
+		List<Long> seqs = new ArrayList<>();
+		ChangeFeed page;
+		long since = token;
+		do {
+			page = changeService.findChanges(since, 50);
+			page.changes().forEach(c -> seqs.add(c.seq()));
+			since = page.next();
+		} while (page.hasMore());
+		assertEquals(threads * perThread, seqs.size());
+		for (int i = 0; i < seqs.size(); i++) assertEquals(token + 1 + i, seqs.get(i));
+	}
+
+	@Test
+	void prunedTokenAsksForResync() {
+		long token = changeService.findChanges(null, null).next();
+		locationService.create(new Location(null, "Pruned", "ID"));
+		locationService.create(new Location(null, "Kept", "ID"));
+
+		jdbc.update("DELETE FROM change_log WHERE seq = ?", token + 1);
+		assertTrue(changeService.findChanges(token, null).resync());
+		assertFalse(changeService.findChanges(token + 1, null).resync());
+	}
+
+	private static Change find(ChangeFeed feed, String entity, Integer id) {
+		Change change = feed.changes().stream()
+				.filter(c -> c.entity().equals(entity) && c.id().equals(id))
+				.findFirst().orElse(null);
+		assertNotNull(change, entity + " " + id);
+		return change;
+	}
+}
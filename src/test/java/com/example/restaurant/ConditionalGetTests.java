@@ -0,0 +1,89 @@
+package com.example.restaurant;
+
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.LocationService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "restaurant.limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private LocationService locationService;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Test
+	void singleRowTagCoversTheEmbeddedParents() throws Exception {
+		Location location = locationService.create(new Location(null, "Etagton", "VT"));
+		Restaurant restaurant = restaurantService.create(new Restaurant(null, "Tag Cafe", location, "Cafe", "Coffee"));
+		String url = "/api/restaurants/" + restaurant.getId();
+
+		String etag = mvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0.0\""))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(content().string(""));
+
+		// The restaurant row is unchanged, but its JSON embeds the location
+		locationService.update(location.getId(), new Location(null, "Etagton Springs", null));
+		mvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0.1\""));
+
+		mvc.perform(get("/api/restaurants/999999").header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void collectionTagMovesWithTheTableAndItsParents() throws Exception {
+		String locations = mvc.perform(get("/api/locations"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		String restaurants = mvc.perform(get("/api/restaurants").param("limit", "10"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mvc.perform(get("/api/locations").header(HttpHeaders.IF_NONE_MATCH, "W/" + locations))
+				.andExpect(status().isNotModified());
+		mvc.perform(get("/api/restaurants").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, restaurants))
+				.andExpect(status().isNotModified());
+
+		locationService.create(new Location(null, "Newtagville", "ME"));
+
+		String newLocations = mvc.perform(get("/api/locations").header(HttpHeaders.IF_NONE_MATCH, locations))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(locations, newLocations);
+		String newRestaurants = mvc.perform(get("/api/restaurants").param("limit", "10").header(HttpHeaders.IF_NONE_MATCH, restaurants))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertEquals(newLocations, newRestaurants, "a location change moves the restaurant collection too");
+	}
+}
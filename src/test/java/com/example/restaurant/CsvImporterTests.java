@@ -0,0 +1,119 @@
+package com.example.restaurant;
+
+import com.example.restaurant.dto.ImportReport;
+import com.example.restaurant.importer.CsvImporter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.StringReader;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Small batches and several writers, so even these short files are split across concurrent transactions.
+@SpringBootTest(properties = {"restaurant.import.batch-records=2", "restaurant.import.writers=3"})
+@ActiveProfiles("h2")
+class CsvImporterTests {
+
+	private static final int GROUPS = 10;
+	private static final int RECORDS_PER_GROUP = 4;
+
+	@Autowired
+	private CsvImporter importer;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void smallFileImportsCompletely() {
+		ImportReport report = importer.importCsv(csv("Complete", i -> "Importville,IL"), "complete");
+
+		assertTrue(report.completed(), report.failure());
+		assertEquals(GROUPS * RECORDS_PER_GROUP, report.recordsImported());
+		assertEquals(GROUPS, report.restaurants());
+		assertEquals(GROUPS, report.visits());
+		assertEquals(GROUPS, report.ratings());
+		assertEquals(GROUPS, report.dishes());
+		assertEquals(0, report.rejectedRestaurants());
+		assertEquals(GROUPS, count("Complete"));
+		assertEquals(GROUPS, jdbc.queryForObject("SELECT COUNT(*) FROM dish d JOIN have_tried h ON h.id = d.have_tried_id "
+				+ "JOIN restaurant r ON r.id = h.restaurant_id WHERE r.restaurant_name LIKE 'Complete %'", Integer.class));
+		// Every writer needed the new location; it was created once
+		assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM location WHERE city = 'Importville'", Integer.class));
+	}
+
+	@Test
+	void rerunningACompletedJobImportsNothing() {
+		String file = file("Rerun", i -> "Chicago,IL");
+		assertTrue(importer.importCsv(new StringReader(file), "rerun").completed());
+
+		ImportReport again = importer.importCsv(new StringReader(file), "rerun");
+
+		assertTrue(again.completed(), again.failure());
+		assertEquals(0, again.recordsImported());
+		assertEquals(GROUPS * RECORDS_PER_GROUP, again.recordsAlreadyDone());
+		assertEquals(GROUPS, count("Rerun"));
+	}
+
+	@Test
+	void failedJobResumesWithoutDuplicates() {
+		// restaurant_name is VARCHAR(200): the insert fails in the database, part-way through the file
+		String tooLong = "x".repeat(300);
+		String broken = file("Resume", i -> "Chicago,IL").replace("Resume 8,", tooLong + ",");
+
+		ImportReport failed = importer.importCsv(new StringReader(broken), "resume");
+		assertFalse(failed.completed());
+		assertNotNull(failed.failure());
+		assertTrue(count("Resume") < GROUPS);
+
+		ImportReport resumed = importer.importCsv(csv("Resume", i -> "Chicago,IL"), "resume");
+
+		assertTrue(resumed.completed(), resumed.failure());
+		assertEquals(GROUPS * RECORDS_PER_GROUP, resumed.recordsImported() + resumed.recordsAlreadyDone());
+		for (int i = 0; i < GROUPS; i++) {
+			assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM restaurant WHERE restaurant_name = ?",
+					Integer.class, "Resume " + i), "Resume " + i);
+		}
+	}
+
+	@Test
+	void badStateRejectsOnlyItsGroup() {
+		ImportReport report = importer.importCsv(csv("State", i -> i == 3 ? "Nowhere,ZZ" : "Chicago,IL"), "state");
+
+		assertTrue(report.completed(), report.failure());
+		assertEquals(1, report.rejectedRestaurants());
+		assertEquals(GROUPS - 1, report.restaurants());
+		assertTrue(report.errors().stream().anyMatch(e -> e.contains("ZZ")), report.errors().toString());
+		assertEquals(GROUPS - 1, count("State"));
+		assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM restaurant WHERE restaurant_name = 'State 3'",
+				Integer.class));
+	}
+
+	private int count(String prefix) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM restaurant WHERE restaurant_name LIKE ?",
+				Integer.class, prefix + " %");
+	}
+
+	private static StringReader csv(String prefix, IntFunction<String> place) {
+		return new StringReader(file(prefix, place));
+	}
+
+	// One restaurant per group: R, V, RT, D
+	private static String file(String prefix, IntFunction<String> place) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < GROUPS; i++) {
+			sb.append("R,").append(prefix).append(' ').append(i).append(',').append(place.apply(i))
+					.append(",Casual,Thai\n");
+			sb.append("V\n");
+			sb.append("RT,4,3,fine\n");
+			sb.append("D,Dish ").append(i).append(",good\n");
+		}
+		return sb.toString();
+	}
+}
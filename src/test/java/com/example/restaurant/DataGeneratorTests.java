@@ -0,0 +1,66 @@
+package com.example.restaurant;
+
+import com.example.restaurant.generator.DataGenerator;
+import com.example.restaurant.generator.GenerationReport;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.LocationService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class DataGeneratorTests {
+
+	@Autowired
+	private DataGenerator generator;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Autowired
+	private LocationService locationService;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Test
+	void sameSeedWritesSameFiles(@TempDir Path dir) throws Exception {
+		generator.generate(7, 500, 3, dir.resolve("a"));
+		generator.generate(7, 500, 3, dir.resolve("b"));
+		for (String table : new String[] {"restaurant", "have_tried", "rating", "experience", "dish"}) {
+			assertArrayEquals(Files.readAllBytes(dir.resolve("a").resolve(table + ".tsv")),
+					Files.readAllBytes(dir.resolve("b").resolve(table + ".tsv")), table);
+		}
+		assertTrue(Files.readString(dir.resolve("a").resolve("load.sql")).contains("LOAD DATA LOCAL INFILE"));
+	}
+
+	@Test
+	void generatedRowsLeaveTheApplicationWritable() throws Exception {
+		Integer restaurantsBefore = jdbc.queryForObject("SELECT COUNT(*) FROM restaurant", Integer.class);
+		GenerationReport report = generator.generate(11, 300, 3, null);
+
+		assertEquals(300, report.restaurants());
+		assertEquals(restaurantsBefore + 300, jdbc.queryForObject("SELECT COUNT(*) FROM restaurant", Integer.class));
+		assertEquals(report.visits(), report.ratings());
+		assertTrue(report.dishes() >= report.visits());
+
+		// id_sequence was moved past the generated ids, so entity inserts do not collide with them
+		Location location = locationService.findById(1).orElseThrow();
+		Restaurant created = restaurantService.create(new Restaurant(null, "After Generation", location, "Casual", "American"));
+		assertNotNull(created.getId());
+	}
+}
@@ -0,0 +1,77 @@
+package com.example.restaurant;
+
+import com.example.restaurant.business.GeoIndex;
+import com.example.restaurant.dto.GeoPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Grid lookups must return exactly what a full scan of every point returns, including circles
+// that cross the antimeridian or reach a pole. Timing lives in GeoIndexBenchmark (src/jmh).
+class GeoIndexTests {
+
+	private static final int POINTS = 3_000;
+	private static final int K = 20;
+
+	@Test
+	void nearestMatchesFullScan() {
+		Random random = new Random(7);
+		GeoIndex index = new GeoIndex(null);
+		List<GeoPoint> all = new ArrayList<>(POINTS);
+		for (int id = 1; id <= POINTS; id++) {
+			double lat, lon;
+			switch (id % 4) {
+				case 0 -> { lat = -60 + random.nextDouble() * 120; lon = 179 + random.nextDouble() * 2; }  // around 180
+				case 1 -> { lat = 85 + random.nextDouble() * 5; lon = -180 + random.nextDouble() * 360; }  // near the north pole
+				case 2 -> { lat = -90 + random.nextDouble() * 5; lon = -180 + random.nextDouble() * 360; } // near the south pole
+				default -> { lat = -90 + random.nextDouble() * 180; lon = -180 + random.nextDouble() * 360; }
+			}
+			if (lon >= 180) lon -= 360;
+			GeoPoint p = new GeoPoint(id, lat, lon);
+			all.add(p);
+			index.restaurantSaved(id, p.latitude(), p.longitude());
+		}
+		assertEquals(POINTS, index.size());
+
+		List<double[]> queries = new ArrayList<>(List.of(
+				new double[] {0, 179.99}, new double[] {0, -179.99}, new double[] {12.5, 180}, new double[] {-33, -180},
+				new double[] {89.99, 0}, new double[] {90, 45}, new double[] {-89.99, 120}, new double[] {-90, -60},
+				new double[] {70, 179.5}, new double[] {-87, -179.5}));
+		for (int i = 0; i < 200; i++) {
+			queries.add(new double[] {-90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360});
+		}
+		for (double maxKm : new double[] {50, 500, 5_000}) {
+			for (double[] q : queries) {
+				assertEquals(ids(scan(all, q[0], q[1], maxKm)), ids(index.nearest(q[0], q[1], maxKm, K)),
+						"nearest " + K + " within " + maxKm + " km of " + q[0] + "," + q[1]);
+			}
+		}
+
+		// Moving a restaurant moves it between cells; deleting removes it
+		index.restaurantSaved(POINTS + 1, 41.8781, -87.6298);
+		assertEquals(POINTS + 1, index.nearest(41.8781, -87.6298, 1, 1).get(0).point().id());
+		index.restaurantSaved(POINTS + 1, 0.0, 0.0);
+		assertEquals(POINTS + 1, index.nearest(0.0, 0.0, 1, 1).get(0).point().id());
+		index.restaurantDeleted(POINTS + 1);
+		assertEquals(0, index.nearest(0.0, 0.0, 1, 1).size());
+	}
+
+	// Every point within maxKm, closest first (ties by id, as GeoIndex orders them), first K
+	private static List<GeoIndex.Hit> scan(List<GeoPoint> all, double lat, double lon, double maxKm) {
+		return all.stream()
+				.map(p -> new GeoIndex.Hit(p, GeoIndex.distanceKm(lat, lon, p.latitude(), p.longitude())))
+				.filter(h -> h.distanceKm() <= maxKm)
+				.sorted(Comparator.comparingDouble(GeoIndex.Hit::distanceKm).thenComparing(h -> h.point().id()))
+				.limit(K)
+				.toList();
+	}
+
+	private static List<Integer> ids(List<GeoIndex.Hit> hits) {
+		return hits.stream().map(h -> h.point().id()).toList();
+	}
+}
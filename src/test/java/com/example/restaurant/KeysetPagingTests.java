@@ -0,0 +1,87 @@
+package com.example.restaurant;
+
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.LocationService;
+import com.example.restaurant.service.RestaurantService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "restaurant.limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class KeysetPagingTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private LocationService locationService;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Test
+	void walkingThePagesReturnsEveryRowOnce() throws Exception {
+		Location location = locationService.create(new Location(null, "Pageville", "OH"));
+		for (int i = 0; i < 7; i++) {
+			restaurantService.create(new Restaurant(null, "Page " + i, location, "Casual", "Thai"));
+		}
+		List<Integer> all = ids(read("/api/restaurants"));
+
+		List<Integer> walked = new ArrayList<>();
+		JsonNode page = read("/api/restaurants?limit=3");
+		int pages = 1;
+		while (true) {
+			walked.addAll(ids(page.get("items")));
+			JsonNode next = page.get("nextCursor");
+			if (next.isNull()) break;
+			page = read("/api/restaurants?after=" + next.asInt() + "&limit=3");
+			pages++;
+		}
+
+		assertEquals(all, walked);
+		assertEquals((all.size() + 2) / 3, pages);
+	}
+
+	@Test
+	void afterAlonePagesWithTheDefaultLimit() throws Exception {
+		for (String collection : List.of("locations", "restaurants", "wanttotry", "havetried", "ratings",
+				"experiences", "dishes")) {
+			mvc.perform(get("/api/" + collection).param("after", "0"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.items").isArray());
+		}
+		JsonNode page = read("/api/locations?after=1");
+		assertTrue(ids(page.get("items")).stream().allMatch(id -> id > 1));
+	}
+
+	private JsonNode read(String url) throws Exception {
+		return mapper.readTree(mvc.perform(get(url)).andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString());
+	}
+
+	private static List<Integer> ids(JsonNode rows) {
+		List<Integer> ids = new ArrayList<>();
+		rows.forEach(row -> ids.add(row.get("id").asInt()));
+		return ids;
+	}
+}
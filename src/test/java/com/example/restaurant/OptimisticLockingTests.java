@@ -0,0 +1,99 @@
+package com.example.restaurant;
+
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.LocationService;
+import com.example.restaurant.service.RestaurantService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "restaurant.limit.enabled=false")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class OptimisticLockingTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private LocationService locationService;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Test
+	void ifMatchUpdatesOnlyTheVersionTheClientRead() throws Exception {
+		Location location = locationService.create(new Location(null, "Lockport", "NY"));
+		String url = "/api/locations/" + location.getId();
+
+		String etag = mvc.perform(get(url))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		String updated = mvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Lockport Falls\"}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(1))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		// A second client still holding the first ETag must not overwrite that change
+		mvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Lost Update\"}"))
+				.andExpect(status().isPreconditionFailed());
+		mvc.perform(put(url).header(HttpHeaders.IF_MATCH, "W/\"1\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Lost Update\"}"))
+				.andExpect(status().isPreconditionFailed());
+		assertEquals("Lockport Falls", locationService.findById(location.getId()).orElseThrow().getCity());
+
+		// The tag from the PUT response is current: no GET needed before the next conditional update
+		mvc.perform(put(url).header(HttpHeaders.IF_MATCH, updated)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Lockport\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+		// The version in a request body is ignored; without If-Match the update is unconditional
+		mvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content("{\"state\":\"PA\",\"version\":0}"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.version").value(3));
+	}
+
+	@Test
+	void putTagCoversTheEmbeddedParents() throws Exception {
+		Location location = locationService.create(new Location(null, "Tagtown", "NY"));
+		Restaurant restaurant = restaurantService.create(new Restaurant(null, "Tag Diner", location, "Diner", "American"));
+
+		mvc.perform(put("/api/restaurants/" + restaurant.getId()).header(HttpHeaders.IF_MATCH, "\"0.0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"cuisine\":\"Diner\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""));
+	}
+
+	@Test
+	void ifMatchOnAMissingRowFailsThePrecondition() throws Exception {
+		String url = "/api/locations/999999";
+		// No current representation, so not even "*" matches
+		mvc.perform(put(url).header(HttpHeaders.IF_MATCH, "*")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Nowhere\"}"))
+				.andExpect(status().isPreconditionFailed());
+		mvc.perform(put(url).header(HttpHeaders.IF_MATCH, "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Nowhere\"}"))
+				.andExpect(status().isPreconditionFailed());
+		mvc.perform(put(url).contentType(MediaType.APPLICATION_JSON).content("{\"city\":\"Nowhere\"}"))
+				.andExpect(status().isNotFound());
+	}
+}
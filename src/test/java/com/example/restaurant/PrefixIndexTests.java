@@ -0,0 +1,66 @@
+package com.example.restaurant;
+
+import com.example.restaurant.business.PrefixIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Prefix lookups must return what filtering every name would, in the same order.
+// Lookup latency at 1M names: AutocompleteBenchmark (src/jmh).
+class PrefixIndexTests {
+
+	private static final int NAMES = 5_000;
+	private static final int LIMIT = 10;
+
+	private static final String[] WORDS = {"golden", "dragon", "lou", "malnati's", "caf\u00e9", "blue", "ember", "taqueria",
+			"noodle", "house", "pizza", "kitchen", "bistro", "smoke", "garden", "harbor", "ramen", "corner", "little", "jade"};
+
+	@Test
+	void startingWithMatchesFullScan() {
+		Random random = new Random(42);
+		PrefixIndex index = new PrefixIndex();
+		Map<Integer, String> names = new HashMap<>();
+		for (int id = 1; id <= NAMES; id++) {
+			String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+			index.put(id, name);
+			names.put(id, name);
+		}
+		assertEquals(NAMES, index.size());
+
+		for (int i = 0; i < 500; i++) {
+			String name = names.get(1 + random.nextInt(NAMES));
+			String prefix = name.substring(0, 1 + random.nextInt(Math.min(12, name.length())));
+			if (random.nextBoolean()) prefix = prefix.toUpperCase();
+			assertEquals(scan(names, prefix), ids(index.startingWith(prefix, LIMIT)), "prefix " + prefix);
+		}
+
+		// Accents and case are folded, and a rename replaces the old label
+		index.put(NAMES + 1, "Zzyzx Caf\u00e9");
+		assertEquals("Zzyzx Caf\u00e9", index.startingWith("ZZYZX CAFE", LIMIT).get(0).label());
+		index.put(NAMES + 1, "Zzyzx Diner");
+		assertTrue(index.startingWith("zzyzx c", LIMIT).isEmpty());
+		assertEquals(NAMES + 1, index.startingWith("zzyzx d", LIMIT).get(0).id());
+	}
+
+	// Ids of every name whose normalized form starts with the normalized prefix, by normalized name then id
+	private static List<Integer> scan(Map<Integer, String> names, String prefix) {
+		String norm = PrefixIndex.normalize(prefix);
+		return names.entrySet().stream()
+				.filter(e -> PrefixIndex.normalize(e.getValue()).startsWith(norm))
+				.sorted(Comparator.comparing((Map.Entry<Integer, String> e) -> PrefixIndex.normalize(e.getValue()) + '\0' + e.getKey()))
+				.limit(LIMIT)
+				.map(Map.Entry::getKey)
+				.toList();
+	}
+
+	private static List<Integer> ids(List<PrefixIndex.Match> matches) {
+		return matches.stream().map(PrefixIndex.Match::id).toList();
+	}
+}
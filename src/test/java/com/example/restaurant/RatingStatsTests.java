@@ -0,0 +1,111 @@
+package com.example.restaurant;
+
+import com.example.restaurant.business.BusinessManager;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Location;
+import com.example.restaurant.model.Rating;
+import com.example.restaurant.model.Restaurant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// restaurant_rating_stats is maintained incrementally (RatingStatsMaintainer); after every kind of
+// rating and visit change it must hold exactly what a full rebuild from the rating table produces.
+@SpringBootTest
+@ActiveProfiles("h2")
+class RatingStatsTests {
+
+	@Autowired
+	private BusinessManager bm;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private PlatformTransactionManager txManager;
+
+	@Test
+	void incrementalStatsMatchARebuild() {
+		TransactionTemplate tx = new TransactionTemplate(txManager);
+		Location location = bm.findLocationById(1);
+		Restaurant first = bm.createRestaurant(new Restaurant(null, "Stats First", location, "Casual", "Thai"));
+		Restaurant second = bm.createRestaurant(new Restaurant(null, "Stats Second", location, "Diner", "BBQ"));
+		HaveTried a = bm.createHaveTried(new HaveTried(null, first));
+		HaveTried b = bm.createHaveTried(new HaveTried(null, first));
+		HaveTried c = bm.createHaveTried(new HaveTried(null, second));
+
+		Rating middle = rate(a, 3, 3);
+		Rating extreme = rate(a, 1, 5);
+		rate(a, 3, 3);
+		Rating low = rate(b, 5, 1);
+		Rating other = rate(b, 4, 2);
+		rate(c, 2, 2);
+		assertMatchesRebuild("ratings added");
+
+		// Strictly inside min/max: subtracted in place
+		bm.deleteRatingById(middle.getId());
+		assertMatchesRebuild("inner rating deleted");
+
+		// The food minimum and vibe maximum: the row is recomputed
+		bm.deleteRatingById(extreme.getId());
+		assertMatchesRebuild("extreme rating deleted");
+
+		// An update is a removal plus an addition, also when the rating moves to another restaurant
+		Rating loaded = bm.findRatingById(other.getId());
+		loaded.setFoodRating(2);
+		loaded.setVibeRating(4);
+		bm.updateRating(loaded);
+		assertMatchesRebuild("rating values changed");
+		loaded = bm.findRatingById(low.getId());
+		loaded.setHaveTried(c);
+		bm.updateRating(loaded);
+		assertMatchesRebuild("rating moved to another restaurant");
+
+		// Added and removed in one transaction: never reaches the stats row
+		tx.executeWithoutResult(status -> bm.deleteRatingById(rate(b, 5, 5).getId()));
+		assertMatchesRebuild("rating added and removed in one transaction");
+
+		// Rolled back: the stats stay as they were
+		List<Map<String, Object>> before = stats();
+		tx.executeWithoutResult(status -> {
+			rate(a, 1, 1);
+			bm.deleteRatingById(other.getId());
+			status.setRollbackOnly();
+		});
+		assertEquals(before, stats(), "rollback leaves the stats untouched");
+		assertMatchesRebuild("after rollback");
+
+		// A visit moved to another restaurant takes its ratings along; a deleted one removes them
+		HaveTried visit = bm.findHaveTriedById(b.getId());
+		visit.setRestaurant(second);
+		bm.updateHaveTried(visit);
+		assertMatchesRebuild("visit moved");
+		bm.deleteHaveTriedById(a.getId());
+		assertMatchesRebuild("visit deleted");
+		bm.deleteHaveTriedById(c.getId());
+		assertMatchesRebuild("last rated visit deleted");
+	}
+
+	private Rating rate(HaveTried visit, int food, int vibe) {
+		return bm.createRating(new Rating(null, visit, food, vibe, null));
+	}
+
+	private void assertMatchesRebuild(String step) {
+		List<Map<String, Object>> maintained = stats();
+		bm.rebuildRatingStats();
+		assertEquals(stats(), maintained, step);
+	}
+
+	private List<Map<String, Object>> stats() {
+		return jdbc.queryForList("SELECT * FROM restaurant_rating_stats ORDER BY restaurant_id");
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.restaurant;
+
+import com.example.restaurant.datasource.ReplicaDataSource;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Replica routing over two in-memory H2 databases: the primary (profile h2) and a "replica" that only
+// holds a marker location, plus a replica URL nothing listens on, which the health check takes out.
+@SpringBootTest(properties = {
+		"restaurant.datasource.replica-urls=" + ReplicaRoutingTests.REPLICA_URL + ",jdbc:h2:tcp://localhost:1/nowhere",
+		"restaurant.datasource.health-check-interval=200ms",
+		"restaurant.datasource.read-your-writes=5s",
+		"restaurant.limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ReplicaRoutingTests {
+
+	static final String REPLICA_URL =
+			"jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+	private static final int MARKER_ID = 900_001;
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ReplicaDataSource replicas;
+
+	@BeforeAll
+	static void createReplica() {
+		DriverManagerDataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+		new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(replica);
+		JdbcTemplate jdbc = new JdbcTemplate(replica);
+		jdbc.update("DELETE FROM location WHERE id = ?", MARKER_ID);
+		jdbc.update("INSERT INTO location (id, city, state) VALUES (?, 'Replicaville', 'RP')", MARKER_ID);
+	}
+
+	@Test
+	void readsGoToHealthyReplicaAndWritesPinTheClientToThePrimary() throws Exception {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (replicas.healthyReplicas() != 1 && System.currentTimeMillis() < deadline) Thread.sleep(50);
+		assertEquals(1, replicas.healthyReplicas(), "unreachable replica marked down");
+
+		String fromReplica = mvc.perform(get("/api/locations")).andReturn().getResponse().getContentAsString();
+		assertTrue(fromReplica.contains("Replicaville"), "unpinned read served by the replica");
+
+		var created = mvc.perform(post("/api/locations")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"city\":\"Primaryton\",\"state\":\"IL\"}"))
+				.andReturn().getResponse();
+		assertEquals(200, created.getStatus());
+		Cookie pin = created.getCookie("primary-until");
+		assertNotNull(pin, "write sets the read-your-writes cookie");
+
+		String pinned = mvc.perform(get("/api/locations").cookie(pin)).andReturn().getResponse().getContentAsString();
+		assertTrue(pinned.contains("Primaryton"), "pinned read sees its own write");
+		assertFalse(pinned.contains("Replicaville"), "pinned read served by the primary");
+
+		String unpinned = mvc.perform(get("/api/locations")).andReturn().getResponse().getContentAsString();
+		assertFalse(unpinned.contains("Primaryton"), "replica has not seen the write");
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.restaurant;
+
+import com.example.restaurant.dto.RestaurantSummary;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.repository.RestaurantRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A summary page is one query and carries the same values as the entities it replaces.
+// Query + serialization time for 10k rows: SummarySerializationBenchmark (src/jmh).
+@SpringBootTest
+@ActiveProfiles("h2")
+class RestaurantSummaryTests {
+
+	private static final int ROWS = 50;
+
+	@Autowired
+	private RestaurantRepository restaurantRepo;
+
+	@Autowired
+	private PlatformTransactionManager txManager;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	@Test
+	void summariesMatchEntitiesInOneQuery() {
+		Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		TransactionTemplate tx = new TransactionTemplate(txManager);
+		tx.setReadOnly(true);
+
+		long before = statistics.getPrepareStatementCount();
+		List<RestaurantSummary> summaries = tx.execute(status -> restaurantRepo.findSummaries(0, Limit.of(ROWS)));
+		assertEquals(1, statistics.getPrepareStatementCount() - before, "a summary page is one query");
+
+		List<RestaurantSummary> fromEntities = tx.execute(status -> restaurantRepo
+				.findByIdGreaterThanOrderByIdAsc(0, Limit.of(ROWS)).stream()
+				.map(RestaurantSummaryTests::summary)
+				.toList());
+		assertEquals(ROWS, summaries.size());
+		assertEquals(fromEntities, summaries);
+	}
+
+	private static RestaurantSummary summary(Restaurant r) {
+		return new RestaurantSummary(r.getId(), r.getRestaurantName(), r.getLocation().getCity(),
+				r.getLocation().getState(), r.getType(), r.getCuisine());
+	}
+}
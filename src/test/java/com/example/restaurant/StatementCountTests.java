@@ -0,0 +1,123 @@
+package com.example.restaurant;
+
+import com.example.restaurant.model.Dish;
+import com.example.restaurant.model.Experience;
+import com.example.restaurant.model.HaveTried;
+import com.example.restaurant.model.Rating;
+import com.example.restaurant.model.WantToTry;
+import com.example.restaurant.model.Restaurant;
+import com.example.restaurant.service.DishService;
+import com.example.restaurant.service.ExperienceService;
+import com.example.restaurant.service.HaveTriedService;
+import com.example.restaurant.service.RatingService;
+import com.example.restaurant.service.RestaurantService;
+import com.example.restaurant.service.WantToTryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// JDBC statements per request, counted with Hibernate statistics.
+// Before BusinessManager stopped probing with existsById: delete 3 (count, select, delete), update 3 (select, count, update).
+@SpringBootTest
+@ActiveProfiles("h2")
+class StatementCountTests {
+
+	// Each write transaction also logs its changes for GET /api/changes: reserve sequence numbers,
+	// read them back, insert the entries
+	private static final int CHANGE_LOG = 3;
+
+	@Autowired
+	private DishService dishService;
+
+	@Autowired
+	private WantToTryService wantToTryService;
+
+	@Autowired
+	private RestaurantService restaurantService;
+
+	@Autowired
+	private HaveTriedService haveTriedService;
+
+	@Autowired
+	private RatingService ratingService;
+
+	@Autowired
+	private ExperienceService experienceService;
+
+	@Autowired
+	private EntityManagerFactory emf;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = emf.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+	}
+
+	private long statements(Runnable request) {
+		long before = statistics.getPrepareStatementCount();
+		request.run();
+		return statistics.getPrepareStatementCount() - before;
+	}
+
+	@Test
+	void deleteIsOneStatementPlusTheChangeLog() {
+		Dish dish = dishService.create(new Dish(null, new HaveTried(1, null), "Statement count", null));
+
+		assertEquals(1 + CHANGE_LOG, statements(() -> assertTrue(dishService.delete(dish.getId()))));
+		// a missing id is still one statement (nothing to log), and still reported as not found (404)
+		assertEquals(1, statements(() -> assertFalse(dishService.delete(dish.getId()))));
+	}
+
+	@Test
+	void deleteWantToTryIsOneStatementPlusTheChangeLog() {
+		WantToTry w = wantToTryService.create(new WantToTry(null, new Restaurant(1, null, null, null, null)));
+
+		assertEquals(1 + CHANGE_LOG, statements(() -> assertTrue(wantToTryService.delete(w.getId()))));
+	}
+
+	@Test
+	void updateIsOneSelectAndOneUpdatePlusTheChangeLog() {
+		Dish dish = dishService.create(new Dish(null, new HaveTried(1, null), "Before", null));
+
+		assertEquals(2 + CHANGE_LOG, statements(() -> assertTrue(dishService.update(dish.getId(), new Dish(null, null, "After", null)).isPresent())));
+	}
+
+	@Test
+	void cachedRestaurantUpdateIsOneUpdatePlusTheChangeLog() {
+		restaurantService.findById(2);  // warm the second-level cache
+
+		Restaurant changes = new Restaurant(null, null, null, null, "Statement count");
+		assertEquals(1 + CHANGE_LOG, statements(() -> assertTrue(restaurantService.update(2, changes).isPresent())));
+	}
+
+	@Test
+	void restaurantDetailDoesNotGrowWithVisits() {
+		restaurantService.findDetail(3);  // warm the second-level cache for the restaurant and its location
+		long oneVisit = statements(() -> assertTrue(restaurantService.findDetail(3).isPresent()));
+
+		Restaurant restaurant = new Restaurant(3, null, null, null, null);
+		for (int i = 0; i < 5; i++) {
+			HaveTried visit = haveTriedService.create(new HaveTried(null, restaurant));
+			ratingService.create(new Rating(null, visit, 4, 5, "Statement count"));
+			experienceService.create(new Experience(null, visit, LocalDate.of(2026, 1, i + 1), null));
+			dishService.create(new Dish(null, visit, "Statement count", null));
+		}
+
+		assertEquals(oneVisit, statements(() -> assertEquals(6, restaurantService.findDetail(3).orElseThrow().visits().size())));
+		// visits, then one subselect each for ratings, experiences and dishes
+		assertEquals(4, oneVisit);
+	}
+}
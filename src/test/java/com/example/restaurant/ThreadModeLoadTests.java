@@ -0,0 +1,47 @@
+package com.example.restaurant;
+
+import com.example.restaurant.app.LoadGenerator;
+import com.example.restaurant.generator.DataGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The closed-loop LoadGenerator mix against the app on platform-thread Tomcat and on virtual threads
+// (profile virtual-threads), each over its own in-memory H2 database, with fewer Tomcat threads than
+// clients. Both modes must serve it without errors; throughput and latency: ThreadModeBenchmark (src/jmh).
+// Takes tens of seconds, so left out of the default build: mvn test -Dgroups=load -DexcludedGroups=
+@Tag("load")
+class ThreadModeLoadTests {
+
+	private static final int RESTAURANTS = 500;
+	private static final int WORKERS = 100;
+	private static final int TOMCAT_THREADS = 20;
+
+	@Test
+	void bothThreadModesServeTheMixWithoutErrors() throws Exception {
+		for (String[] profiles : new String[][] {{"h2"}, {"h2", "virtual-threads"}}) {
+			LoadGenerator.Summary s = run(profiles);
+			assertTrue(s.requests() > 0 && s.errors() == 0, String.join(",", profiles) + ": " + s);
+		}
+	}
+
+	private static LoadGenerator.Summary run(String... profiles) throws Exception {
+		SpringApplicationBuilder app = new SpringApplicationBuilder(RestaurantApplication.class).profiles(profiles);
+		// Arguments, not builder properties: those would lose to restaurant.limit.enabled=true in application.properties
+		try (ConfigurableApplicationContext ctx = app.run("--server.port=0",
+				"--restaurant.limit.enabled=false",
+				"--server.tomcat.threads.max=" + TOMCAT_THREADS)) {
+			ctx.getBean(DataGenerator.class).generate(1, RESTAURANTS, 3, null);
+			String base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port") + "/api";
+			LoadGenerator.Options options = LoadGenerator.Options.parse(new String[] {
+					"--base=" + base, "--workers=" + WORKERS, "--rate=0", "--duration=3", "--warmup=1", "--writes=10"});
+			return new LoadGenerator(options).run(new PrintStream(OutputStream.nullOutputStream()));
+		}
+	}
+}
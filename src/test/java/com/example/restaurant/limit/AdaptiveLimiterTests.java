@@ -0,0 +1,105 @@
+package com.example.restaurant.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveLimiterTests {
+
+	private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void increasesByOneUpToMaxWhenBusyAndFast() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(4, 2, 6, TARGET);
+		for (int round = 0; round < 5; round++) {
+			int inFlight = limiter.limit();
+			for (int i = 0; i < inFlight; i++) assertTrue(limiter.tryAcquire());
+			assertFalse(limiter.tryAcquire());
+			int before = limiter.limit();
+			limiter.release(FAST, false);
+			assertEquals(Math.min(6, before + 1), limiter.limit());
+			for (int i = 1; i < inFlight; i++) limiter.release(FAST, false);
+		}
+		assertEquals(6, limiter.limit());
+		assertEquals(0, limiter.inFlight());
+	}
+
+	@Test
+	void staysPutWhenLessThanHalfUsed() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(6, 2, 10, TARGET);
+		assertTrue(limiter.tryAcquire());
+		limiter.release(FAST, false);
+		assertEquals(6, limiter.limit());
+	}
+
+	@Test
+	void backsOffOnSlowOrFailedRequestsDownToMin() {
+		AdaptiveLimiter limiter = new AdaptiveLimiter(10, 3, 10, TARGET);
+		assertTrue(limiter.tryAcquire());
+		limiter.release(SLOW, false);
+		assertEquals(9, limiter.limit());
+		assertTrue(limiter.tryAcquire());
+		limiter.release(FAST, true);
+		assertEquals(8, limiter.limit());
+		for (int i = 0; i < 20; i++) {
+			assertTrue(limiter.tryAcquire());
+			limiter.release(SLOW, true);
+		}
+		assertEquals(3, limiter.limit());
+	}
+
+	@Test
+	void filterRejectsWithRetryAfterAndReleasesOnAsyncCompletion() throws Exception {
+		MockEnvironment env = new MockEnvironment()
+				.withProperty("restaurant.limit.bulk.initial", "1")
+				.withProperty("restaurant.limit.bulk.min", "1")
+				.withProperty("restaurant.limit.bulk.max", "1");
+		MeterRegistry registry = new SimpleMeterRegistry();
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(env, registry);
+		// As Spring MVC does for a StreamingResponseBody
+		FilterChain startAsync = (req, res) -> req.startAsync(req, res);
+
+		// An export goes async: the filter returns, but the slot stays taken until the response completes
+		MockHttpServletRequest export = exportRequest();
+		filter.doFilter(export, new MockHttpServletResponse(), startAsync);
+		assertEquals(1.0, gauge(registry, "restaurant.limiter.in.flight"));
+
+		MockHttpServletResponse rejected = new MockHttpServletResponse();
+		filter.doFilter(exportRequest(), rejected, (req, res) -> {
+			throw new AssertionError("over the limit, the chain must not run");
+		});
+		assertEquals(429, rejected.getStatus());
+		assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals(1.0, registry.get("restaurant.limiter.rejected").tag("group", "bulk").counter().count());
+
+		export.getAsyncContext().complete();
+		assertEquals(0.0, gauge(registry, "restaurant.limiter.in.flight"));
+
+		MockHttpServletResponse next = new MockHttpServletResponse();
+		filter.doFilter(exportRequest(), next, (req, res) -> { });
+		assertEquals(200, next.getStatus());
+	}
+
+	private static MockHttpServletRequest exportRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ratings/export");
+		request.setAsyncSupported(true);
+		return request;
+	}
+
+	private static double gauge(MeterRegistry registry, String name) {
+		return registry.get(name).tag("group", "bulk").gauge().value();
+	}
+}
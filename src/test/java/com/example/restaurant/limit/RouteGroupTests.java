@@ -0,0 +1,43 @@
+package com.example.restaurant.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RouteGroupTests {
+
+	@Test
+	void collectionRootIsExpensiveOnlyWhenUnpaged() {
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/ratings", false));
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/ratings/", false));
+		assertEquals(RouteGroup.CHEAP_READ, RouteGroup.of("GET", "/api/ratings", true));
+		assertEquals(RouteGroup.CHEAP_READ, RouteGroup.of("GET", "/api/ratings/7", false));
+		// Not a collection: a missing limit does not make it a whole-table read
+		assertEquals(RouteGroup.CHEAP_READ, RouteGroup.of("GET", "/api/autocomplete", false));
+	}
+
+	@Test
+	void batchExportAndRebuildAreBulk() {
+		assertEquals(RouteGroup.BULK, RouteGroup.of("POST", "/api/ratings/batch", false));
+		assertEquals(RouteGroup.BULK, RouteGroup.of("PUT", "/api/dishes/batch", false));
+		assertEquals(RouteGroup.BULK, RouteGroup.of("GET", "/api/ratings/export", false));
+		assertEquals(RouteGroup.BULK, RouteGroup.of("POST", "/api/restaurants/rating-stats/rebuild", false));
+		assertEquals(RouteGroup.BULK, RouteGroup.of("POST", "/api/import", false));
+	}
+
+	@Test
+	void byParentListsAndDetailTreesAreExpensive() {
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/restaurants/by-location/3", false));
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/ratings/by-havetried/3", true));
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/restaurants/3/full", false));
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/ratings/summaries", true));
+		assertEquals(RouteGroup.EXPENSIVE_READ, RouteGroup.of("GET", "/api/search", false));
+	}
+
+	@Test
+	void singleWritesAreWrites() {
+		assertEquals(RouteGroup.WRITE, RouteGroup.of("POST", "/api/ratings", false));
+		assertEquals(RouteGroup.WRITE, RouteGroup.of("PUT", "/api/ratings/7", false));
+		assertEquals(RouteGroup.WRITE, RouteGroup.of("DELETE", "/api/ratings/7", false));
+	}
+}